@@ -0,0 +1,74 @@
+package max;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import max.tasks.Deadline;
+import max.tasks.Event;
+import max.tasks.Task;
+import max.tasks.Todo;
+
+/**
+ * Generates repeatable task lists for the benchmarks.
+ */
+public class BenchmarkData {
+    private static final String[] WORDS = {
+        "standup", "weekly", "report", "review", "design", "meeting", "lunch", "gym", "read", "book",
+        "email", "client", "budget", "plan", "sprint", "deploy", "fix", "bug", "call", "mum"
+    };
+    private static final LocalDate START = LocalDate.parse("2024-01-01");
+
+    /**
+     * Returns a list with a mix of todos, deadlines and events, the same for every call with the same size.
+     *
+     * @param size Number of tasks
+     * @return Generated tasks
+     */
+    public static List<Task> createTasks(int size) {
+        Random random = new Random(size);
+        List<Task> tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String item = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                    + " " + i;
+            LocalDate date = START.plusDays(random.nextInt(365));
+            boolean isDone = random.nextInt(4) == 0;
+            switch (i % 3) {
+            case 0:
+                tasks.add(new Todo(item, isDone));
+                break;
+            case 1:
+                tasks.add(new Deadline(item, date, isDone));
+                break;
+            default:
+                tasks.add(new Event(item, date, date.plusDays(random.nextInt(7)), isDone));
+                break;
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * Deletes a temporary benchmark directory and everything in it.
+     *
+     * @param directory Directory to be deleted
+     * @throws IOException If a file cannot be deleted
+     */
+    public static void deleteDirectory(Path directory) throws IOException {
+        List<Path> paths;
+        try (Stream<Path> walk = Files.walk(directory)) {
+            // Children sort after their parent, so reversing deletes files before their directories
+            paths = walk.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+        }
+        for (Path path : paths) {
+            Files.delete(path);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package max.commands;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import max.BenchmarkData;
+import max.exception.MaxException;
+import max.parser.Parser;
+import max.storage.Storage;
+import max.tasks.TaskList;
+import max.ui.Ui;
+
+/**
+ * Measures executing commands against task lists of different sizes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CommandBenchmark {
+    // Each mix adds as many tasks as it deletes, so the list keeps its size across invocations
+    private static final String[] READ_HEAVY = {
+        "find report", "list 1-100", "find sprint deploy", "due 2024-02-01", "between 2024-03-01 2024-03-07",
+        "todo water plants", "mark 1", "unmark 1", "delete LAST"
+    };
+    private static final String[] WRITE_HEAVY = {
+        "todo water plants", "deadline file taxes /by 2024-04-15", "event trip /from 2024-05-01 /to 2024-05-03",
+        "mark 1", "unmark 1", "delete LAST", "delete LAST", "delete LAST", "find report"
+    };
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    @Param({"READ_HEAVY", "WRITE_HEAVY"})
+    public String mix;
+
+    private Path directory;
+    private TaskList tasks;
+    private Storage storage;
+    private Ui ui;
+    private Parser parser;
+
+    /**
+     * Creates the task list and its journal-backed storage.
+     *
+     * @throws IOException If the temporary directory cannot be created
+     * @throws MaxException If the task list cannot be saved
+     */
+    @Setup
+    public void setUp() throws IOException, MaxException {
+        directory = Files.createTempDirectory("max-command-benchmark");
+        tasks = new TaskList(BenchmarkData.createTasks(size));
+        storage = new Storage(directory.resolve("max.txt").toString());
+        storage.writeToFile(tasks);
+        ui = new Ui();
+        parser = new Parser();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        BenchmarkData.deleteDirectory(directory);
+    }
+
+    /**
+     * Parses and executes one round of the command mix.
+     */
+    @Benchmark
+    public void executeMix(Blackhole blackhole) throws MaxException {
+        for (String command : "READ_HEAVY".equals(mix) ? READ_HEAVY : WRITE_HEAVY) {
+            String input = command.replace("LAST", String.valueOf(tasks.size()));
+            blackhole.consume(parser.parse(input).execute(tasks, ui, storage));
+        }
+    }
+
+    /**
+     * Finds tasks matching a whole word and a partial word.
+     */
+    @Benchmark
+    public String find() {
+        return new FindCommand("report", "deplo").execute(tasks, ui, storage);
+    }
+
+    @Benchmark
+    public String showList() {
+        return ui.showList(tasks.getList());
+    }
+}
@@ -0,0 +1,48 @@
+package max.parser;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import max.commands.Command;
+import max.exception.MaxException;
+
+/**
+ * Measures how many commands per second the parser handles.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ParserBenchmark {
+    @Param({"todo read book", "deadline submit report /by 2024-03-01",
+        "event team offsite /from 2024-03-01 /to 2024-03-03", "mark 42", "find report review", "list 1-100"})
+    public String command;
+
+    private Parser parser;
+
+    /**
+     * Creates the parser shared by all invocations.
+     */
+    @Setup
+    public void setUp() {
+        parser = new Parser();
+    }
+
+    @Benchmark
+    public Command parse() throws MaxException {
+        return parser.parse(command);
+    }
+}
@@ -0,0 +1,79 @@
+package max.storage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import max.BenchmarkData;
+import max.exception.MaxException;
+import max.tasks.Task;
+
+/**
+ * Compares encoding and decoding every task of a list with each task codec.
+ * The encoded size of the list is printed once per trial, since it does not change between iterations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class CodecBenchmark {
+    @Param({"1000", "100000"})
+    public int size;
+
+    @Param({"text", "binary"})
+    public String codecName;
+
+    private TaskCodec codec;
+    private List<Task> tasks;
+    private byte[] encoded;
+
+    /**
+     * Encodes the tasks that the decode benchmark reads.
+     *
+     * @throws IOException If the tasks cannot be encoded
+     */
+    @Setup
+    public void setUp() throws IOException {
+        codec = codecName.equals("text") ? new TextTaskCodec() : new BinaryTaskCodec();
+        tasks = BenchmarkData.createTasks(size);
+        encoded = encode();
+        System.out.printf("%n%s codec: %d bytes for %d tasks (%.1f bytes per task)%n",
+                codecName, encoded.length, size, (double) encoded.length / size);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (Task task : tasks) {
+            codec.encode(task, out);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public void decode(Blackhole blackhole) throws MaxException {
+        ByteBuffer in = ByteBuffer.wrap(encoded);
+        while (in.hasRemaining()) {
+            blackhole.consume(codec.decode(in));
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package max.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import max.BenchmarkData;
+import max.exception.MaxException;
+import max.tasks.Task;
+import max.tasks.TaskList;
+
+/**
+ * Measures loading and saving task lists of different sizes and file formats.
+ * The size of the saved file is printed once per trial, to compare how well each format packs the tasks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class StorageBenchmark {
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    @Param({"txt", "txt.gz", "bin"})
+    public String format;
+
+    private Path directory;
+    private String loadPath;
+    private String savePath;
+    private TaskList tasks;
+
+    /**
+     * Writes the task list that the load benchmarks read.
+     *
+     * @throws IOException If the temporary directory cannot be created
+     * @throws MaxException If the task list cannot be saved
+     */
+    @Setup
+    public void setUp() throws IOException, MaxException {
+        directory = Files.createTempDirectory("max-storage-benchmark");
+        loadPath = directory.resolve("load." + format).toString();
+        savePath = directory.resolve("save." + format).toString();
+        tasks = new TaskList(BenchmarkData.createTasks(size));
+        new Storage(loadPath).writeToFile(tasks);
+        long fileSize = Files.size(Path.of(loadPath));
+        System.out.printf("%n%s file: %d bytes for %d tasks (%.1f bytes per task)%n",
+                format, fileSize, size, (double) fileSize / size);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        BenchmarkData.deleteDirectory(directory);
+    }
+
+    /**
+     * Loads the task list without touching any task, which leaves tasks undecoded.
+     */
+    @Benchmark
+    public List<Task> load() throws MaxException {
+        return new Storage(loadPath).load();
+    }
+
+    /**
+     * Loads the task list and reads every task, which decodes all of them.
+     */
+    @Benchmark
+    public void loadAndDecode(Blackhole blackhole) throws MaxException {
+        for (Task task : new Storage(loadPath).load()) {
+            blackhole.consume(task);
+        }
+    }
+
+    @Benchmark
+    public void writeToFile() throws MaxException {
+        new Storage(savePath).writeToFile(tasks);
+    }
+}
@@ -0,0 +1,173 @@
+package max;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.format.DateTimeParseException;
+
+import max.commands.Command;
+import max.exception.MaxException;
+import max.parser.Parser;
+import max.storage.TaskListRegistry;
+import max.tasks.DescriptionPool;
+import max.ui.Ui;
+
+/**
+ * Headless entry point that runs a script of commands, one per line, without the GUI.
+ * Changes are held in memory while the script runs and saved in one go at the end,
+ * or every few commands if asked to.
+ */
+public class Batch {
+    private static final String USAGE = "Usage: Batch [--data <file>] [--flush-every <n>] [--verbose] [--compact]"
+            + " [script]\n"
+            + "Reads commands from the script file, or from standard input if no script is given.";
+
+    private final TaskListRegistry lists;
+    private final Ui ui = new Ui();
+    private final Parser parser = new Parser();
+    private final int flushEvery;
+    private final boolean isVerbose;
+    private int commandCount = 0;
+    private int failureCount = 0;
+
+    /**
+     * Initialises a batch run over the task list stored at the given location.
+     *
+     * @param filePath File location of stored task list
+     * @param flushEvery Number of commands between flushes, or 0 to only save at the end
+     * @param isVerbose True to print the response to every command
+     * @param isCompact True to hold task lists in the compact columnar form
+     * @throws MaxException If the stored list cannot be loaded or moved aside
+     */
+    public Batch(String filePath, int flushEvery, boolean isVerbose, boolean isCompact) throws MaxException {
+        this.lists = TaskListRegistry.forFile(filePath);
+        lists.setCompact(isCompact);
+        String name = TaskListRegistry.getName(filePath);
+        try {
+            lists.use(name);
+        } catch (MaxException e) {
+            System.err.println(ui.showError(e.getMessage()));
+            lists.useEmpty(name);
+        }
+        this.flushEvery = flushEvery;
+        this.isVerbose = isVerbose;
+        // A script that is interrupted keeps the changes made so far
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flushOnShutdown, "max-shutdown"));
+    }
+
+    private void flushOnShutdown() {
+        try {
+            lists.flush();
+        } catch (MaxException e) {
+            System.err.println(ui.showError(e.getMessage()));
+        }
+    }
+
+    /**
+     * Runs every command read from the given reader, stopping early at an exit command.
+     * Commands that fail are reported with their line number and do not stop the run.
+     *
+     * @param reader Source of commands
+     * @throws IOException If the commands cannot be read
+     * @throws MaxException If the task list cannot be saved
+     */
+    public void run(BufferedReader reader) throws IOException, MaxException {
+        lists.setDeferred(true);
+        int lineNumber = 0;
+        boolean isExit = false;
+        String line;
+        while (!isExit && (line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            commandCount++;
+            try {
+                Command c = parser.parse(line.trim());
+                isExit = c.isExit();
+                String response = c.execute(lists, ui);
+                if (isVerbose) {
+                    System.out.println(response);
+                }
+            } catch (MaxException | DateTimeParseException | NumberFormatException e) {
+                failureCount++;
+                System.err.printf("Line %d: %s (%s)%n", lineNumber, line, e.getMessage());
+            }
+            if (flushEvery > 0 && commandCount % flushEvery == 0) {
+                lists.flush();
+            }
+        }
+        lists.setDeferred(false);
+        lists.saveAll();
+    }
+
+    public int getCommandCount() {
+        return commandCount;
+    }
+
+    public int getFailureCount() {
+        return failureCount;
+    }
+
+    /**
+     * Runs a script of commands against the task list.
+     *
+     * @param args Options, optionally followed by the script file
+     */
+    public static void main(String[] args) {
+        String filePath = "./data/max.txt";
+        String scriptPath = null;
+        int flushEvery = 0;
+        boolean isVerbose = false;
+        boolean isCompact = false;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                case "--data":
+                    filePath = args[++i];
+                    break;
+                case "--flush-every":
+                    flushEvery = Integer.parseInt(args[++i]);
+                    break;
+                case "--verbose":
+                    isVerbose = true;
+                    break;
+                case "--compact":
+                    isCompact = true;
+                    break;
+                default:
+                    scriptPath = args[i];
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+
+        long start = System.nanoTime();
+        try (BufferedReader reader = scriptPath == null
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(Path.of(scriptPath), StandardCharsets.UTF_8)) {
+            Batch batch = new Batch(filePath, flushEvery, isVerbose, isCompact);
+            batch.run(reader);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("Ran %d command(s), %d failed, in %.3f s (%.0f commands/s).%n",
+                    batch.getCommandCount(), batch.getFailureCount(), seconds, batch.getCommandCount() / seconds);
+            if (isVerbose) {
+                System.out.println(DescriptionPool.getShared().getStats());
+            }
+            if (batch.getFailureCount() > 0) {
+                System.exit(1);
+            }
+        } catch (IOException e) {
+            System.err.println("Cannot read commands: " + e.getMessage());
+            System.exit(2);
+        } catch (MaxException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+        }
+    }
+}
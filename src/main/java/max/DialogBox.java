@@ -1,14 +1,9 @@
 package max;
 
-import java.io.IOException;
-import java.util.Collections;
+import java.util.ArrayDeque;
 
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
-import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
+import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.scene.Node;
 import javafx.scene.control.Label;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
@@ -16,54 +11,80 @@ import javafx.scene.layout.HBox;
 import javafx.scene.shape.Circle;
 
 /**
- * An example of a custom control using FXML. This control represents a dialog
- * box consisting of an ImageView to represent the speaker's face and a label
- * containing text from the speaker.
+ * A custom control representing a dialog box consisting of an ImageView to represent the speaker's face
+ * and a label containing text from the speaker.
+ * The control is built in code rather than from FXML, and boxes removed from the dialog history are
+ * recycled, so each message costs the same no matter how long the session runs.
  */
 public class DialogBox extends HBox {
-    @FXML
+    private static final int MAX_POOL_SIZE = 64;
+    private static final ArrayDeque<DialogBox> POOL = new ArrayDeque<>();
+
     private Label dialog;
-    @FXML
     private ImageView displayPicture;
 
-    private DialogBox(String text, Image img) {
-        try {
-            FXMLLoader fxmlLoader = new FXMLLoader(
-                    MainWindow.class.getResource("/view/DialogBox.fxml"));
-            fxmlLoader.setController(this);
-            fxmlLoader.setRoot(this);
-            fxmlLoader.load();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+    private DialogBox() {
+        dialog = new Label();
+        dialog.setWrapText(true);
+        dialog.setStyle("-fx-background-color: #E1FFC7; -fx-font-size: 16px;");
 
-        dialog.setText(text);
-        displayPicture.setImage(img);
+        displayPicture = new ImageView();
+        displayPicture.setFitHeight(50.0);
+        displayPicture.setFitWidth(50.0);
+        displayPicture.setPickOnBounds(true);
+        displayPicture.setPreserveRatio(true);
+
+        setMaxSize(Double.MAX_VALUE, Double.MAX_VALUE);
+        setPrefWidth(400.0);
+        setPadding(new Insets(15.0, 5.0, 15.0, 5.0));
 
         // Set the ImageView as a circular shape
         setCircularImageView(displayPicture);
     }
 
+    /**
+     * Takes a dialog box from the pool, or creates one if the pool is empty, and fills it in.
+     * The text is on the left and the ImageView on the right.
+     */
+    private static DialogBox obtain(String text, Image img) {
+        DialogBox db = POOL.isEmpty() ? new DialogBox() : POOL.pop();
+        db.dialog.setText(text);
+        db.displayPicture.setImage(img);
+        db.getChildren().setAll(db.dialog, db.displayPicture);
+        db.setAlignment(Pos.TOP_RIGHT);
+        return db;
+    }
+
+    /**
+     * Returns a dialog box that is no longer displayed to the pool, so that it can be reused.
+     *
+     * @param db Dialog box removed from display
+     */
+    public static void recycle(DialogBox db) {
+        if (POOL.size() < MAX_POOL_SIZE) {
+            db.dialog.setText(null);
+            db.displayPicture.setImage(null);
+            POOL.push(db);
+        }
+    }
+
     /**
      * Flips the dialog box such that the ImageView is on the left and text on
      * the right.
      */
     private void flip() {
-        ObservableList<Node> tmp = FXCollections
-                .observableArrayList(this.getChildren());
-        Collections.reverse(tmp);
-        getChildren().setAll(tmp);
+        getChildren().setAll(displayPicture, dialog);
         setAlignment(Pos.TOP_LEFT);
     }
 
     public static DialogBox getUserDialog(String text, Image img) {
-        var db = new DialogBox(text, img);
+        var db = obtain(text, img);
         db.setBackgroundColor("#E1FFC7"); // Set the User background color
         return db;
     }
 
     public static DialogBox getMaxDialog(String text, Image img) {
-        var db = new DialogBox(text, img);
+        var db = obtain(text, img);
         db.setBackgroundColor("#C7E1FF"); // Set the Duke background color
         db.flip();
         return db;
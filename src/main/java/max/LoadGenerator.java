@@ -0,0 +1,176 @@
+package max;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Drives a local {@link Server} with many clients at once and reports how many commands per second it answers.
+ * Every client switches its own connection to a scratch list, leaving other clients of the server on their lists,
+ * and repeats a mix of adding, finding, listing, marking and deleting tasks that leaves the list as it found it.
+ * Commands are sent in batches of the pipeline depth before the responses to the batch are read.
+ */
+public class LoadGenerator {
+    private static final String USAGE = "Usage: LoadGenerator [--port <n>] [--clients <n>] [--commands <n>]"
+            + " [--pipeline <n>] [--list <name>]";
+    private static final String[] MIX = {
+        "todo load test %d", "mark 1", "find load", "list 1-10", "unmark 1", "delete 1"
+    };
+
+    private final int port;
+    private final int commandsPerClient;
+    private final int pipelineDepth;
+    private final String listName;
+
+    /**
+     * Initialises a load generator for a server on the loopback address.
+     *
+     * @param port Port the server listens on
+     * @param commandsPerClient Number of commands each client sends
+     * @param pipelineDepth Number of commands sent before waiting for their responses, at least 1
+     * @param listName Name of the list the clients switch to before sending commands
+     */
+    public LoadGenerator(int port, int commandsPerClient, int pipelineDepth, String listName) {
+        assert pipelineDepth >= 1 : "At least one command should be sent at a time";
+        this.port = port;
+        this.commandsPerClient = commandsPerClient;
+        this.pipelineDepth = pipelineDepth;
+        this.listName = listName;
+    }
+
+    /**
+     * Runs the given number of clients at once and waits for all of them to finish.
+     *
+     * @param clientCount Number of clients
+     * @return Total time spent waiting for responses by each client, in nanoseconds
+     * @throws IOException If a client cannot talk to the server
+     */
+    public long[] run(int clientCount) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(clientCount);
+        try {
+            List<Future<Long>> clients = new ArrayList<>();
+            for (int i = 0; i < clientCount; i++) {
+                int clientNumber = i;
+                clients.add(executor.submit((Callable<Long>) () -> runClient(clientNumber)));
+            }
+            long[] waits = new long[clientCount];
+            for (int i = 0; i < clientCount; i++) {
+                waits[i] = clients.get(i).get();
+            }
+            return waits;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for clients");
+        } catch (ExecutionException e) {
+            throw new IOException("Client failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long runClient(int clientNumber) throws IOException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+                BufferedReader in = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                BufferedWriter out = new BufferedWriter(
+                        new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            out.write("use " + listName + "\n");
+            out.flush();
+            readResponses(in, 1);
+
+            long waited = 0;
+            int sent = 0;
+            while (sent < commandsPerClient) {
+                int batch = Math.min(pipelineDepth, commandsPerClient - sent);
+                long start = System.nanoTime();
+                for (int i = 0; i < batch; i++) {
+                    out.write(String.format(MIX[(sent + i) % MIX.length], clientNumber));
+                    out.write('\n');
+                }
+                out.flush();
+                readResponses(in, batch);
+                waited += System.nanoTime() - start;
+                sent += batch;
+            }
+            return waited;
+        }
+    }
+
+    private static void readResponses(BufferedReader in, int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            if (Server.readResponse(in) == null) {
+                throw new IOException("Server closed the connection");
+            }
+        }
+    }
+
+    /**
+     * Runs the load generator against a server on this machine and prints the throughput.
+     *
+     * @param args Options
+     */
+    public static void main(String[] args) {
+        int port = Server.DEFAULT_PORT;
+        int clientCount = 8;
+        int commandsPerClient = 10000;
+        int pipelineDepth = 1;
+        String listName = "loadtest";
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                case "--port":
+                    port = Integer.parseInt(args[++i]);
+                    break;
+                case "--clients":
+                    clientCount = Integer.parseInt(args[++i]);
+                    break;
+                case "--commands":
+                    commandsPerClient = Integer.parseInt(args[++i]);
+                    break;
+                case "--pipeline":
+                    pipelineDepth = Math.max(1, Integer.parseInt(args[++i]));
+                    break;
+                case "--list":
+                    listName = args[++i];
+                    break;
+                default:
+                    throw new IllegalArgumentException(args[i]);
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException | IllegalArgumentException e) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+
+        LoadGenerator generator = new LoadGenerator(port, commandsPerClient, pipelineDepth, listName);
+        long start = System.nanoTime();
+        try {
+            long[] waits = generator.run(clientCount);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            long totalCommands = (long) clientCount * commandsPerClient;
+            long totalWait = 0;
+            for (long wait : waits) {
+                totalWait += wait;
+            }
+            long roundTrips = (long) clientCount * ((commandsPerClient + pipelineDepth - 1) / pipelineDepth);
+            System.out.printf("Sent %d command(s) from %d client(s) in %.3f s (%.0f commands/s), "
+                    + "%.3f ms per round trip of %d command(s).%n", totalCommands, clientCount, seconds,
+                    totalCommands / seconds, totalWait / 1e6 / Math.max(1, roundTrips), pipelineDepth);
+        } catch (IOException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+        }
+    }
+}
@@ -1,17 +1,30 @@
 package max;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import javafx.animation.PauseTransition;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
+import javafx.scene.Node;
 import javafx.scene.control.Button;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
 import javafx.scene.layout.AnchorPane;
 import javafx.scene.layout.VBox;
+import javafx.util.Duration;
+import max.tasks.Task;
+import max.tasks.TaskList;
 /**
  * Controller for MainWindow. Provides the layout for the other controls.
  */
 public class MainWindow extends AnchorPane {
+    // Oldest dialog boxes beyond this many are removed from the window and recycled
+    private static final int MAX_HISTORY = 200;
+
     @FXML
     private ScrollPane scrollPane;
     @FXML
@@ -20,46 +33,99 @@ public class MainWindow extends AnchorPane {
     private TextField userInput;
     @FXML
     private Button sendButton;
+    @FXML
+    private ListView<Task> taskView;
 
     private Max duke;
+    private ObservableTaskList observableTasks;
 
     private Image userImage = new Image(this.getClass().getResourceAsStream("/images/User.png"));
     private Image dukeImage = new Image(this.getClass().getResourceAsStream("/images/Max.png"));
 
+    /**
+     * Keeps the dialog scrolled to the latest message and sets up the task panel.
+     * The task panel only lays out visible rows, and a fixed row height lets it skip measuring the rest.
+     */
     @FXML
     public void initialize() {
         scrollPane.vvalueProperty().bind(dialogContainer.heightProperty());
+        taskView.setFixedCellSize(24);
+        taskView.setCellFactory(view -> new ListCell<>() {
+            @Override
+            protected void updateItem(Task task, boolean empty) {
+                super.updateItem(task, empty);
+                setText(empty || task == null ? null : (getIndex() + 1) + ". " + task);
+            }
+        });
     }
 
+    /**
+     * Connects the window to Max and shows its task list in the task panel.
+     *
+     * @param d Max instance
+     */
     public void setMax(Max d) {
         duke = d;
+        bindTasks(duke.getTasks());
+        duke.setOnListChanged(this::bindTasks);
+    }
+
+    /**
+     * Shows the given task list in the task panel in place of the previous one.
+     * When another list is chosen this runs on the command thread, so the panel itself is swapped
+     * on the application thread, after any updates already queued for the previous list.
+     */
+    private void bindTasks(TaskList tasks) {
+        if (observableTasks != null) {
+            observableTasks.detach();
+        }
+        ObservableTaskList items = new ObservableTaskList(tasks);
+        observableTasks = items;
+        Platform.runLater(() -> taskView.setItems(items));
     }
 
     /**
-     * Creates two dialog boxes, one echoing user input and the other containing Duke's reply and then appends them to
-     * the dialog container. Clears the user input after processing.
+     * Creates a dialog box echoing user input and appends it to the dialog container, then clears the user input.
+     * The command runs in the background, and Duke's reply is appended once it is ready.
      */
     @FXML
     private void handleUserInput() {
         String input = userInput.getText();
-        String response = duke.getResponse(input);
-
-        dialogContainer.getChildren().addAll(
-                DialogBox.getUserDialog(input, userImage),
-                DialogBox.getMaxDialog(response, dukeImage)
-        );
+        dialogContainer.getChildren().add(DialogBox.getUserDialog(input, userImage));
+        trimHistory();
         userInput.clear();
 
-        if (duke.willExit()) {
-            // Schedule the exit after a 1-second delay
-            Platform.runLater(() -> {
-                try {
-                    Thread.sleep(1000); // Sleep for 1 second
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
-                System.exit(0);
-            });
+        duke.getResponseAsync(input, (response, isExit) -> Platform.runLater(() -> showResponse(response, isExit)));
+    }
+
+    /**
+     * Appends a dialog box containing Duke's reply, and exits shortly after if it was the reply to
+     * a successful exit command.
+     */
+    private void showResponse(String response, boolean isExit) {
+        dialogContainer.getChildren().add(DialogBox.getMaxDialog(response, dukeImage));
+        trimHistory();
+
+        if (isExit) {
+            // Schedule the exit after a 1-second delay, without blocking the application thread
+            PauseTransition delay = new PauseTransition(Duration.seconds(1));
+            delay.setOnFinished(event -> Platform.exit());
+            delay.play();
+        }
+    }
+
+    /**
+     * Removes the oldest dialog boxes once the history is full, returning them to the dialog box pool.
+     */
+    private void trimHistory() {
+        int excess = dialogContainer.getChildren().size() - MAX_HISTORY;
+        if (excess <= 0) {
+            return;
+        }
+        List<Node> removed = new ArrayList<>(dialogContainer.getChildren().subList(0, excess));
+        dialogContainer.getChildren().remove(0, excess);
+        for (Node node : removed) {
+            DialogBox.recycle((DialogBox) node);
         }
     }
 }
@@ -1,11 +1,16 @@
 package max;
 
 import java.time.format.DateTimeParseException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 import max.commands.Command;
 import max.exception.MaxException;
 import max.parser.Parser;
-import max.storage.Storage;
+import max.storage.TaskListRegistry;
 import max.tasks.TaskList;
 import max.ui.Ui;
 
@@ -14,25 +19,51 @@ import max.ui.Ui;
  */
 public class Max {
 
-    private Storage storage;
-    private TaskList tasks;
+    private TaskListRegistry lists;
     private Ui ui;
-    private boolean isExit = false;
+    private Consumer<TaskList> onListChanged = tasks -> { };
+    // Reused for every input; commands are parsed one at a time on the command thread
+    private final Parser parser = new Parser();
+    private volatile boolean isExit = false;
+    // Commands run one at a time, in the order they were given
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "max-commands");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     /**
      * Initialises Storage, TaskList and Ui.
-     * Loads storage from specified file location.
+     * Loads storage from specified file location. Other named lists are stored next to it.
      *
      * @param filePath file location of stored task list
      */
     public Max(String filePath) {
         ui = new Ui();
-        storage = new Storage(filePath);
+        lists = TaskListRegistry.forFile(filePath);
+        // The task panel reads the current list on the application thread while commands change it
+        lists.setConcurrent(true);
+        String name = TaskListRegistry.getName(filePath);
         try {
-            tasks = new TaskList(storage.load());
+            lists.use(name);
         } catch (MaxException e) {
             ui.showError(e.getMessage());
-            tasks = new TaskList();
+            try {
+                lists.useEmpty(name);
+            } catch (MaxException moveError) {
+                // Starting on an empty list would overwrite the stored one, so do not start at all
+                throw new IllegalStateException(moveError.getMessage(), moveError);
+            }
+        }
+        // Changes still waiting for their flush window are written out if the app is closed abruptly
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flushOnShutdown, "max-shutdown"));
+    }
+
+    private void flushOnShutdown() {
+        try {
+            lists.flush();
+        } catch (MaxException e) {
+            System.err.println(ui.showError(e.getMessage()));
         }
     }
 
@@ -53,10 +84,15 @@ public class Max {
      */
     public String getResponse(String input) {
         try {
-            Parser parser = new Parser();
             Command c = parser.parse(input);
-            isExit = c.isExit();
-            return c.execute(tasks, ui, storage);
+            TaskList previous = getTasks();
+            String response = c.execute(lists, ui);
+            // Only set once the exit command has saved every list, so a failed save keeps Max running
+            isExit = isExit || c.isExit();
+            if (getTasks() != previous) {
+                onListChanged.accept(getTasks());
+            }
+            return response;
         } catch (MaxException e) {
             return ui.showError(e.getMessage());
         } catch (DateTimeParseException e) {
@@ -67,9 +103,47 @@ public class Max {
     }
 
     /**
-     * Checks if the exit command was called.
+     * Works out Max's response to user without blocking the caller, then hands it to the given action.
+     * Parsing, execution and saving happen on a background thread, one command at a time, and the action
+     * runs on that thread. It is told whether this input was the exit command and every list was saved,
+     * so that an earlier response still on its way never sees the exit of a later command.
+     *
+     * @param input String input from user
+     * @param onResponse Action given the response from Max, and true if Max should now exit
+     * @return Future completed once the action has run
+     */
+    public CompletableFuture<Void> getResponseAsync(String input, BiConsumer<String, Boolean> onResponse) {
+        return CompletableFuture.runAsync(() -> {
+            boolean wasExit = isExit;
+            String response;
+            try {
+                response = getResponse(input);
+            } catch (RuntimeException e) {
+                onResponse.accept(ui.showError("Something went wrong: " + e.getMessage()), false);
+                return;
+            }
+            onResponse.accept(response, isExit && !wasExit);
+        }, executor);
+    }
+
+    public TaskList getTasks() {
+        return lists.getCurrent().getTasks();
+    }
+
+    /**
+     * Sets what to do when another list becomes the current one.
+     * The action runs on the thread that executed the command, before its response is returned.
+     *
+     * @param onListChanged Action given the new current list
+     */
+    public void setOnListChanged(Consumer<TaskList> onListChanged) {
+        this.onListChanged = onListChanged;
+    }
+
+    /**
+     * Checks if the exit command was called and saved every list.
      *
-     * @return True if last command is exit command, false otherwise.
+     * @return True if an exit command has been executed successfully, false otherwise.
      */
     public boolean willExit() {
         return isExit;
@@ -0,0 +1,97 @@
+package max;
+
+import java.util.List;
+
+import javafx.application.Platform;
+import javafx.collections.ObservableListBase;
+import max.tasks.Task;
+import max.tasks.TaskList;
+import max.tasks.TaskListListener;
+
+/**
+ * Observable view of a task list for JavaFX controls. Tasks are read from the task list itself when asked for,
+ * so a control that only shows the visible rows never decodes or creates views of the rest.
+ * Changes to the task list are announced on the JavaFX application thread, in order, and the size seen
+ * there only changes when they are. A task list changed on another thread must be a
+ * {@link max.tasks.ConcurrentTaskList}, whose lock is held while a task is read.
+ */
+public class ObservableTaskList extends ObservableListBase<Task> implements TaskListListener {
+    private final TaskList tasks;
+    // Number of tasks as of the last change announced on the application thread
+    private int size;
+
+    /**
+     * Initialises an observable view of the given task list and starts following its changes.
+     *
+     * @param tasks Task list to follow
+     */
+    public ObservableTaskList(TaskList tasks) {
+        this.tasks = tasks;
+        // Holding the lock of a shared list keeps changes from slipping in between reading the size and listening
+        synchronized (tasks) {
+            this.size = tasks.size();
+            tasks.addListener(this);
+        }
+    }
+
+    /**
+     * Returns the task at the given index of the task list.
+     * A change not yet announced may have moved it, in which case the row is updated once it is;
+     * a row beyond the end of the changed list is shown empty until then.
+     *
+     * @param index Zero-based index of task
+     * @return Task at given index, or null if the list has since become shorter
+     */
+    @Override
+    public Task get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        synchronized (tasks) {
+            List<Task> list = tasks.getList();
+            return index < list.size() ? list.get(index) : null;
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Stops following changes to the task list.
+     */
+    public void detach() {
+        tasks.removeListener(this);
+    }
+
+    @Override
+    public void onAdd(int index, Task task) {
+        Platform.runLater(() -> {
+            size++;
+            beginChange();
+            nextAdd(index, index + 1);
+            endChange();
+        });
+    }
+
+    @Override
+    public void onDelete(int index, Task task) {
+        Platform.runLater(() -> {
+            size--;
+            beginChange();
+            nextRemove(index, task);
+            endChange();
+        });
+    }
+
+    @Override
+    public void onUpdate(int index, Task task) {
+        // Announced as a replacement, which makes the list view redraw the row
+        Platform.runLater(() -> {
+            beginChange();
+            nextSet(index, task);
+            endChange();
+        });
+    }
+}
@@ -0,0 +1,247 @@
+package max;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import max.commands.Command;
+import max.exception.MaxException;
+import max.parser.Parser;
+import max.storage.TaskListRegistry;
+import max.ui.Ui;
+
+/**
+ * Headless entry point that serves the command language to clients on a local TCP socket.
+ * Each client sends one command per line and gets back Max's response followed by a line holding
+ * only {@value #END_OF_RESPONSE}; response lines starting with a dot get another dot in front.
+ * Clients may send several commands without waiting, and get their responses in the same order.
+ * <p>
+ * All clients share the same lists, but each has its own current list, which starts out as the list given
+ * on startup, so one client switching lists with "use" does not move any other client. Commands that change
+ * a list are run one at a time, together with saving the change, so the stored journal matches the order the
+ * changes were made in. Read-only commands do not wait for that; they read a snapshot of the list.
+ */
+public class Server {
+    public static final String END_OF_RESPONSE = ".";
+    public static final int DEFAULT_PORT = 4444;
+    private static final String USAGE = "Usage: Server [--data <file>] [--port <n>]";
+
+    private final TaskListRegistry lists;
+    private final ServerSocket serverSocket;
+    // Held while a command changes the lists, so changes and their journal records are made in the same order
+    private final Object writeLock = new Object();
+    private final AtomicInteger clientCount = new AtomicInteger();
+    // One thread per client; JDK 17 has no virtual threads, so idle threads are reused instead
+    private final ExecutorService clients = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "max-client-" + clientCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Initialises a server over the task list stored at the given location, listening on the loopback address.
+     *
+     * @param filePath File location of stored task list
+     * @param port Port to listen on, or 0 for any free port
+     * @throws IOException If the port cannot be listened on
+     * @throws MaxException If the stored list cannot be loaded or moved aside
+     */
+    public Server(String filePath, int port) throws IOException, MaxException {
+        lists = TaskListRegistry.forFile(filePath);
+        lists.setConcurrent(true);
+        String name = TaskListRegistry.getName(filePath);
+        try {
+            lists.use(name);
+        } catch (MaxException e) {
+            System.err.println(new Ui().showError(e.getMessage()));
+            lists.useEmpty(name);
+        }
+        serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flushOnShutdown, "max-shutdown"));
+    }
+
+    private void flushOnShutdown() {
+        try {
+            lists.flush();
+        } catch (MaxException e) {
+            System.err.println(new Ui().showError(e.getMessage()));
+        }
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Accepts clients until the server is closed, serving each on its own thread.
+     */
+    public void serve() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                clients.execute(() -> serveClient(socket));
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    System.err.println("Cannot accept client: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops accepting clients, disconnects the current ones and saves every list.
+     *
+     * @throws IOException If the server socket cannot be closed
+     * @throws MaxException If the lists cannot be saved
+     */
+    public void close() throws IOException, MaxException {
+        serverSocket.close();
+        clients.shutdownNow();
+        synchronized (writeLock) {
+            lists.saveAll();
+        }
+    }
+
+    /**
+     * Runs the commands of one client until it disconnects or sends an exit command.
+     * Responses are flushed only once no more commands are waiting, so pipelined commands
+     * are answered in one write.
+     */
+    private void serveClient(Socket socket) {
+        Parser parser = new Parser();
+        Ui ui = new Ui();
+        TaskListRegistry session = lists.newSession();
+        try (socket;
+                BufferedReader in = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                BufferedWriter out = new BufferedWriter(
+                        new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            boolean isExit = false;
+            String line;
+            while (!isExit && (line = in.readLine()) != null) {
+                Command c = null;
+                String response;
+                try {
+                    c = parser.parse(line.trim());
+                    response = execute(c, session, ui);
+                } catch (MaxException e) {
+                    response = ui.showError(e.getMessage());
+                } catch (DateTimeParseException e) {
+                    response = ui.showError("Please use yyyy-mm-dd format!");
+                } catch (NumberFormatException e) {
+                    response = ui.showError("Please type an integer!");
+                } catch (RuntimeException e) {
+                    // One bad command should not take the client's connection down with it
+                    response = ui.showError("Something went wrong: " + e.getMessage());
+                }
+                isExit = c != null && c.isExit();
+                writeResponse(out, response);
+                if (isExit || !in.ready()) {
+                    out.flush();
+                }
+            }
+        } catch (IOException e) {
+            // The client went away; nothing is left to answer
+        } finally {
+            session.closeSession();
+        }
+    }
+
+    private String execute(Command c, TaskListRegistry session, Ui ui) throws MaxException {
+        if (c.isReadOnly()) {
+            return c.execute(session, ui);
+        }
+        synchronized (writeLock) {
+            return c.execute(session, ui);
+        }
+    }
+
+    /**
+     * Writes a response in the wire format, ending it with the end-of-response line.
+     *
+     * @param out Writer to the client
+     * @param response Response from Max
+     * @throws IOException If the response cannot be written
+     */
+    static void writeResponse(BufferedWriter out, String response) throws IOException {
+        for (String line : response.split("\n", -1)) {
+            if (line.startsWith(END_OF_RESPONSE)) {
+                out.write(END_OF_RESPONSE);
+            }
+            out.write(line);
+            out.write('\n');
+        }
+        out.write(END_OF_RESPONSE);
+        out.write('\n');
+    }
+
+    /**
+     * Reads one response in the wire format, without its end-of-response line.
+     *
+     * @param in Reader from the server
+     * @return Response from Max, or null if the connection was closed
+     * @throws IOException If the response cannot be read
+     */
+    static String readResponse(BufferedReader in) throws IOException {
+        StringBuilder response = new StringBuilder();
+        boolean isFirstLine = true;
+        String line;
+        while ((line = in.readLine()) != null) {
+            if (line.equals(END_OF_RESPONSE)) {
+                return response.toString();
+            }
+            if (!isFirstLine) {
+                response.append('\n');
+            }
+            isFirstLine = false;
+            response.append(line.startsWith(END_OF_RESPONSE) ? line.substring(1) : line);
+        }
+        return null;
+    }
+
+    /**
+     * Serves the task list to local clients until the process is stopped.
+     *
+     * @param args Options
+     */
+    public static void main(String[] args) {
+        String filePath = "./data/max.txt";
+        int port = DEFAULT_PORT;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                case "--data":
+                    filePath = args[++i];
+                    break;
+                case "--port":
+                    port = Integer.parseInt(args[++i]);
+                    break;
+                default:
+                    throw new IllegalArgumentException(args[i]);
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException | IllegalArgumentException e) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+
+        try {
+            Server server = new Server(filePath, port);
+            System.out.println("Max is listening on localhost:" + server.getPort());
+            server.serve();
+        } catch (IOException | MaxException e) {
+            System.err.println("Cannot start server: " + e.getMessage());
+            System.exit(2);
+        }
+    }
+}
@@ -32,8 +32,8 @@ public class AddCommand extends Command {
     @Override
     public String execute(TaskList tasks, Ui ui, Storage storage) throws MaxException {
         tasks.add(task);
-        storage.writeToFile(tasks);
-        return ui.showAdd(task, tasks.getList().size());
+        storage.recordAdd(task, tasks);
+        return ui.showAdd(task, tasks.size());
     }
     /**
      * Checks if command is an exit command.
@@ -0,0 +1,59 @@
+package max.commands;
+
+import java.time.LocalDate;
+
+import max.storage.Storage;
+import max.tasks.TaskList;
+import max.ui.Ui;
+
+/**
+ * Represents command to show deadlines and events within a date range.
+ */
+public class BetweenCommand extends Command {
+    public static final String COMMAND_WORD = "between";
+    private LocalDate from;
+    private LocalDate to;
+
+    /**
+     * Specifies date range of tasks to be shown.
+     *
+     * @param from Start date, inclusive
+     * @param to End date, inclusive
+     */
+    public BetweenCommand(LocalDate from, LocalDate to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Executes between command. Prints deadlines due and events happening within the range, earliest first.
+     *
+     * @param tasks Task list
+     * @param ui UI
+     * @param storage Storage
+     */
+    @Override
+    public String execute(TaskList tasks, Ui ui, Storage storage) {
+        return ui.showList(tasks.findBetween(from, to));
+    }
+
+    /**
+     * Checks if command is an exit command.
+     *
+     * @return false
+     */
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+
+    /**
+     * Checks if command only reads the task lists.
+     *
+     * @return true
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+}
@@ -3,6 +3,7 @@ package max.commands;
 
 import max.exception.MaxException;
 import max.storage.Storage;
+import max.storage.TaskListRegistry;
 import max.tasks.TaskList;
 import max.ui.Ui;
 
@@ -27,6 +28,19 @@ public abstract class Command {
      */
     public abstract String execute(TaskList tasks, Ui ui, Storage storage) throws MaxException;
 
+    /**
+     * Executes given command on the current list of the registry.
+     * Commands that work on the lists themselves override this instead.
+     *
+     * @param lists Registry of named task lists
+     * @param ui UI
+     * @throws MaxException If command is invalid
+     */
+    public String execute(TaskListRegistry lists, Ui ui) throws MaxException {
+        TaskListRegistry.Entry current = lists.getCurrent();
+        return execute(current.getTasks(), ui, current.getStorage());
+    }
+
     /**
      * Checks if command is an exit command.
      *
@@ -35,4 +49,13 @@ public abstract class Command {
     public boolean isExit() {
         return false;
     }
+
+    /**
+     * Checks if command only reads the task lists, so that it can run alongside other commands.
+     *
+     * @return True if command changes nothing, false otherwise
+     */
+    public boolean isReadOnly() {
+        return false;
+    }
 }
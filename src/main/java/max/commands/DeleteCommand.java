@@ -32,10 +32,9 @@ public class DeleteCommand extends Command {
     @Override
     public String execute(TaskList tasks, Ui ui, Storage storage) throws MaxException {
         try {
-            Task deleted = tasks.getList().get(taskNumber - 1);
-            tasks.delete(taskNumber);
-            storage.writeToFile(tasks);
-            return ui.showDelete(deleted, tasks.getList().size());
+            Task deleted = tasks.delete(taskNumber);
+            storage.recordDelete(taskNumber, tasks);
+            return ui.showDelete(deleted, tasks.size());
         } catch (IndexOutOfBoundsException e) {
             throw new InvalidArgumentException("Please ensure the number is within the index range of your list!");
         }
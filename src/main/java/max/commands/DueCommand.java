@@ -0,0 +1,56 @@
+package max.commands;
+
+import java.time.LocalDate;
+
+import max.storage.Storage;
+import max.tasks.TaskList;
+import max.ui.Ui;
+
+/**
+ * Represents command to show deadlines due by a date.
+ */
+public class DueCommand extends Command {
+    public static final String COMMAND_WORD = "due";
+    private LocalDate date;
+
+    /**
+     * Specifies latest due date of deadlines to be shown.
+     *
+     * @param date Latest due date
+     */
+    public DueCommand(LocalDate date) {
+        this.date = date;
+    }
+
+    /**
+     * Executes due command. Prints deadlines due on or before the date, earliest first.
+     *
+     * @param tasks Task list
+     * @param ui UI
+     * @param storage Storage
+     */
+    @Override
+    public String execute(TaskList tasks, Ui ui, Storage storage) {
+        return ui.showList(tasks.findDueBy(date));
+    }
+
+    /**
+     * Checks if command is an exit command.
+     *
+     * @return false
+     */
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+
+    /**
+     * Checks if command only reads the task lists.
+     *
+     * @return true
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+}
@@ -2,6 +2,7 @@ package max.commands;
 
 import max.exception.MaxException;
 import max.storage.Storage;
+import max.storage.TaskListRegistry;
 import max.tasks.TaskList;
 import max.ui.Ui;
 
@@ -25,6 +26,17 @@ public class ExitCommand extends Command {
         storage.writeToFile(tasks);
         return ui.exit();
     }
+    /**
+     * Executes exit command. Saves every open task list to storage. Prints exit message.
+     *
+     * @param lists Registry of named task lists
+     * @param ui UI
+     */
+    @Override
+    public String execute(TaskListRegistry lists, Ui ui) throws MaxException {
+        lists.saveAll();
+        return ui.exit();
+    }
     /**
      * Checks if command is an exit command.
      *
@@ -0,0 +1,70 @@
+package max.commands;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import max.exception.MaxException;
+import max.storage.JsonTaskFile;
+import max.storage.Storage;
+import max.tasks.Task;
+import max.tasks.TaskList;
+import max.ui.Ui;
+
+/**
+ * Represents export command, which writes the task list to a JSON file.
+ */
+public class ExportCommand extends Command {
+    public static final String COMMAND_WORD = "export";
+    private String path;
+
+    /**
+     * Specifies file to export to.
+     *
+     * @param path Location of JSON file
+     */
+    public ExportCommand(String path) {
+        this.path = path;
+    }
+
+    /**
+     * Executes export command. Writes every task to the JSON file, and prints how many were written.
+     * A snapshot of the list is written, so the file holds the tasks as they were at one moment
+     * while other commands carry on changing the list.
+     *
+     * @param tasks Task list
+     * @param ui UI
+     * @param storage Storage
+     * @throws MaxException If the file cannot be written
+     */
+    @Override
+    public String execute(TaskList tasks, Ui ui, Storage storage) throws MaxException {
+        List<Task> exported = tasks.snapshot();
+        try {
+            JsonTaskFile.write(exported, Path.of(path));
+        } catch (IOException e) {
+            throw new MaxException(String.format("Uh oh, I cannot write %s!", path));
+        }
+        return ui.showExport(exported.size(), path);
+    }
+
+    /**
+     * Checks if command is an exit command.
+     *
+     * @return false
+     */
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+
+    /**
+     * Checks if command only reads the task lists.
+     *
+     * @return true
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+}
@@ -1,8 +1,6 @@
 package max.commands;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.stream.Collectors;
+import java.util.List;
 
 import max.storage.Storage;
 import max.tasks.Task;
@@ -33,11 +31,7 @@ public class FindCommand extends Command {
      */
     @Override
     public String execute(TaskList tasks, Ui ui, Storage storage) {
-        ArrayList<Task> currList = tasks.getList();
-        ArrayList<Task> filterList = (ArrayList<Task>) currList.stream()
-                .filter((task) -> Arrays.stream(items)
-                        .anyMatch(item -> task.getItem().contains(item)))
-                .collect(Collectors.toList());
+        List<Task> filterList = tasks.find(items);
         return ui.showList(filterList);
     }
 
@@ -50,4 +44,14 @@ public class FindCommand extends Command {
     public boolean isExit() {
         return false;
     }
+
+    /**
+     * Checks if command only reads the task lists.
+     *
+     * @return true
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
 }
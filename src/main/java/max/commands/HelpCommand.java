@@ -37,4 +37,14 @@ public class HelpCommand extends Command {
     public boolean isExit() {
         return false;
     }
+
+    /**
+     * Checks if command only reads the task lists.
+     *
+     * @return true
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
 }
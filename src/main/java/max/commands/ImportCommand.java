@@ -0,0 +1,70 @@
+package max.commands;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import max.exception.MaxException;
+import max.storage.JsonTaskFile;
+import max.storage.Storage;
+import max.tasks.TaskList;
+import max.ui.Ui;
+
+/**
+ * Represents import command, which adds the tasks in a JSON file to the task list.
+ */
+public class ImportCommand extends Command {
+    public static final String COMMAND_WORD = "import";
+    private String path;
+
+    /**
+     * Specifies file to import from.
+     *
+     * @param path Location of JSON file
+     */
+    public ImportCommand(String path) {
+        this.path = path;
+    }
+
+    /**
+     * Executes import command. Adds each task to the list as it is read, then saves the list once.
+     * If the file turns out to be invalid part-way through, the tasks already added are removed again,
+     * so a file is either imported whole or not at all.
+     *
+     * @param tasks Task list
+     * @param ui UI
+     * @param storage Storage
+     * @throws MaxException If the file cannot be read or is not a valid JSON task list
+     */
+    @Override
+    public String execute(TaskList tasks, Ui ui, Storage storage) throws MaxException {
+        int before = tasks.size();
+        int count;
+        try {
+            count = JsonTaskFile.read(Path.of(path), tasks::add);
+        } catch (IOException e) {
+            rollBack(tasks, before);
+            throw new MaxException(String.format("Uh oh, I cannot read %s!", path));
+        } catch (MaxException e) {
+            rollBack(tasks, before);
+            throw e;
+        }
+        storage.writeToFile(tasks);
+        return ui.showImport(count, path, tasks.size());
+    }
+
+    private static void rollBack(TaskList tasks, int size) throws MaxException {
+        while (tasks.size() > size) {
+            tasks.delete(tasks.size());
+        }
+    }
+
+    /**
+     * Checks if command is an exit command.
+     *
+     * @return false
+     */
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+}
@@ -1,6 +1,11 @@
 package max.commands;
 
+import java.util.List;
+
+import max.exception.InvalidArgumentException;
+import max.exception.MaxException;
 import max.storage.Storage;
+import max.tasks.Task;
 import max.tasks.TaskList;
 import max.ui.Ui;
 
@@ -9,16 +14,62 @@ import max.ui.Ui;
  */
 public class ListCommand extends Command {
     public static final String COMMAND_WORD = "list";
+    public static final String PAGE_FLAG = "--page";
+    public static final int PAGE_SIZE = 100;
+    private int from;
+    private int to;
+    private boolean isFirstPage;
+
+    /**
+     * Specifies that the first page of the list is shown, with a hint if there are more pages.
+     */
+    public ListCommand() {
+        this(1, PAGE_SIZE);
+        this.isFirstPage = true;
+    }
+
+    /**
+     * Specifies range of task numbers to be shown.
+     *
+     * @param from First task number, inclusive
+     * @param to Last task number, inclusive
+     */
+    public ListCommand(int from, int to) {
+        this.from = from;
+        this.to = to;
+    }
+
     /**
-     * Executes list command. Prints list of tasks.
+     * Returns command showing the given page of the list.
+     *
+     * @param page Page number, starting from 1
+     * @return List command for page
+     */
+    public static ListCommand ofPage(int page) {
+        int from = (page - 1) * PAGE_SIZE + 1;
+        return new ListCommand(from, from + PAGE_SIZE - 1);
+    }
+
+    /**
+     * Executes list command. Prints the requested tasks.
      *
      * @param tasks Task list
      * @param ui UI
      * @param storage Storage
+     * @throws MaxException If range starts beyond the end of the list
      */
     @Override
-    public String execute(TaskList tasks, Ui ui, Storage storage) {
-        return ui.showList(tasks.getList());
+    public String execute(TaskList tasks, Ui ui, Storage storage) throws MaxException {
+        // Rendered from a snapshot, so the range is checked against the same tasks it shows
+        List<Task> list = tasks.snapshot();
+        int size = list.size();
+        if (from > 1 && from > size) {
+            throw new InvalidArgumentException("Please ensure the number is within the index range of your list!");
+        }
+        if (isFirstPage) {
+            return ui.showFirstPage(list, PAGE_SIZE);
+        }
+        return ui.showList(list, from - 1, Math.min(to, size));
     }
     /**
      * Checks if command is an exit command.
@@ -29,4 +80,14 @@ public class ListCommand extends Command {
     public boolean isExit() {
         return false;
     }
+
+    /**
+     * Checks if command only reads the task lists.
+     *
+     * @return true
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
 }
@@ -0,0 +1,48 @@
+package max.commands;
+
+import max.exception.MaxException;
+import max.storage.Storage;
+import max.storage.TaskListRegistry;
+import max.tasks.TaskList;
+import max.ui.Ui;
+
+/**
+ * Represents lists command, which shows every named task list.
+ */
+public class ListsCommand extends Command {
+    public static final String COMMAND_WORD = "lists";
+
+    /**
+     * Showing lists needs the registry of lists, which a single task list does not have.
+     *
+     * @param tasks Task list
+     * @param ui UI
+     * @param storage Storage
+     * @throws MaxException Always
+     */
+    @Override
+    public String execute(TaskList tasks, Ui ui, Storage storage) throws MaxException {
+        throw new MaxException("Hmm... there is only one list here.");
+    }
+
+    /**
+     * Executes lists command. Shows the names of all lists, marking the current one.
+     *
+     * @param lists Registry of named task lists
+     * @param ui UI
+     */
+    @Override
+    public String execute(TaskListRegistry lists, Ui ui) throws MaxException {
+        return ui.showLists(lists.getNames(), lists.getCurrent().getName());
+    }
+
+    /**
+     * Checks if command only reads the task lists.
+     *
+     * @return true
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+}
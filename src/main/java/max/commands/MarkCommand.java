@@ -31,9 +31,8 @@ public class MarkCommand extends Command {
     @Override
     public String execute(TaskList tasks, Ui ui, Storage storage) throws MaxException {
         try {
-            Task mark = tasks.getList().get(taskNumber - 1);
-            tasks.mark(taskNumber);
-            storage.writeToFile(tasks);
+            Task mark = tasks.mark(taskNumber);
+            storage.recordMark(taskNumber, tasks);
             return ui.showMark(mark);
         } catch (IndexOutOfBoundsException e) {
             throw new InvalidArgumentException("Please ensure the number is within the index range of your list!");
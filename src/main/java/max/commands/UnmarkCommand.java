@@ -32,9 +32,8 @@ public class UnmarkCommand extends Command {
     @Override
     public String execute(TaskList tasks, Ui ui, Storage storage) throws MaxException {
         try {
-            Task unmark = tasks.getList().get(taskNumber - 1);
-            tasks.unmark(taskNumber);
-            storage.writeToFile(tasks);
+            Task unmark = tasks.unmark(taskNumber);
+            storage.recordUnmark(taskNumber, tasks);
             return ui.showUnmark(unmark);
         } catch (IndexOutOfBoundsException e) {
             throw new InvalidArgumentException("Please ensure the number is within the index range of your list!");
@@ -0,0 +1,49 @@
+package max.commands;
+
+import max.exception.MaxException;
+import max.storage.Storage;
+import max.storage.TaskListRegistry;
+import max.tasks.TaskList;
+import max.ui.Ui;
+
+/**
+ * Represents use command, which switches to another named task list.
+ */
+public class UseCommand extends Command {
+    public static final String COMMAND_WORD = "use";
+    private String name;
+
+    /**
+     * Specifies list to switch to.
+     *
+     * @param name Name of list
+     */
+    public UseCommand(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Switching lists needs the registry of lists, which a single task list does not have.
+     *
+     * @param tasks Task list
+     * @param ui UI
+     * @param storage Storage
+     * @throws MaxException Always
+     */
+    @Override
+    public String execute(TaskList tasks, Ui ui, Storage storage) throws MaxException {
+        throw new MaxException("Hmm... there is only one list here.");
+    }
+
+    /**
+     * Executes use command. Makes the named list current, creating it if it does not exist yet.
+     *
+     * @param lists Registry of named task lists
+     * @param ui UI
+     */
+    @Override
+    public String execute(TaskListRegistry lists, Ui ui) throws MaxException {
+        TaskListRegistry.Entry entry = lists.use(name);
+        return ui.showUse(entry.getName(), entry.getTasks().size());
+    }
+}
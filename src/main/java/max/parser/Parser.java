@@ -1,29 +1,37 @@
 package max.parser;
 
-import static java.lang.Integer.parseInt;
-
 import java.time.LocalDate;
 
 import max.commands.AddCommand;
+import max.commands.BetweenCommand;
 import max.commands.Command;
 import max.commands.DeleteCommand;
+import max.commands.DueCommand;
 import max.commands.ExitCommand;
+import max.commands.ExportCommand;
 import max.commands.FindCommand;
 import max.commands.HelpCommand;
+import max.commands.ImportCommand;
 import max.commands.ListCommand;
+import max.commands.ListsCommand;
 import max.commands.MarkCommand;
 import max.commands.UnmarkCommand;
+import max.commands.UseCommand;
 import max.exception.EmptyArgumentException;
 import max.exception.InvalidArgumentException;
 import max.exception.InvalidFormatException;
 import max.exception.MaxException;
 import max.tasks.Deadline;
+import max.tasks.DescriptionPool;
 import max.tasks.Event;
 import max.tasks.Todo;
 /**
  * Parses user input to return given command.
+ * A parser reuses one {@link Tokenizer} for every line, so a single parser should not be shared between threads.
  */
 public class Parser {
+    private final Tokenizer tokenizer = new Tokenizer();
+    private final DescriptionPool descriptions = DescriptionPool.getShared();
     private String input;
 
     /**
@@ -51,144 +59,147 @@ public class Parser {
      */
     public Command parse(String fullCommand) throws MaxException {
         assert !fullCommand.equals("") : "Command should not be empty";
-        String com = fullCommand.split(" ")[0];
-
-        switch (com) {
-        case AddCommand.COMMAND_WORD_DEADLINE:
-            return handleDeadline(fullCommand);
-        case AddCommand.COMMAND_WORD_EVENT:
-            return handleEvent(fullCommand);
-        case AddCommand.COMMAND_WORD_TODO:
-            return handleTodo(fullCommand);
-        case ListCommand.COMMAND_WORD:
-            return new ListCommand();
-        case MarkCommand.COMMAND_WORD:
-            return handleMark(fullCommand);
-        case UnmarkCommand.COMMAND_WORD:
-            return handleUnmark(fullCommand);
-        case DeleteCommand.COMMAND_WORD:
-            return handleDelete(fullCommand);
-        case FindCommand.COMMAND_WORD:
-            return handleFind(fullCommand);
-        case ExitCommand.COMMAND_WORD:
+        tokenizer.reset(fullCommand);
+
+        if (tokenizer.isVerb(AddCommand.COMMAND_WORD_DEADLINE)) {
+            return handleDeadline();
+        } else if (tokenizer.isVerb(AddCommand.COMMAND_WORD_EVENT)) {
+            return handleEvent();
+        } else if (tokenizer.isVerb(AddCommand.COMMAND_WORD_TODO)) {
+            return handleTodo();
+        } else if (tokenizer.isVerb(ListCommand.COMMAND_WORD)) {
+            return handleList();
+        } else if (tokenizer.isVerb(MarkCommand.COMMAND_WORD)) {
+            return handleMark();
+        } else if (tokenizer.isVerb(UnmarkCommand.COMMAND_WORD)) {
+            return handleUnmark();
+        } else if (tokenizer.isVerb(DeleteCommand.COMMAND_WORD)) {
+            return handleDelete();
+        } else if (tokenizer.isVerb(FindCommand.COMMAND_WORD)) {
+            return handleFind();
+        } else if (tokenizer.isVerb(ExitCommand.COMMAND_WORD)) {
             return new ExitCommand();
-        case HelpCommand.COMMAND_WORD:
+        } else if (tokenizer.isVerb(HelpCommand.COMMAND_WORD)) {
             return new HelpCommand();
-        default:
-            throw new MaxException("Invalid command sir.");
+        } else if (tokenizer.isVerb(DueCommand.COMMAND_WORD)) {
+            return handleDue();
+        } else if (tokenizer.isVerb(BetweenCommand.COMMAND_WORD)) {
+            return handleBetween();
+        } else if (tokenizer.isVerb(ListsCommand.COMMAND_WORD)) {
+            return new ListsCommand();
+        } else if (tokenizer.isVerb(UseCommand.COMMAND_WORD)) {
+            return handleUse();
+        } else if (tokenizer.isVerb(ExportCommand.COMMAND_WORD)) {
+            return new ExportCommand(handleFileArgument(ExportCommand.COMMAND_WORD));
+        } else if (tokenizer.isVerb(ImportCommand.COMMAND_WORD)) {
+            return new ImportCommand(handleFileArgument(ImportCommand.COMMAND_WORD));
         }
+        throw new MaxException("Invalid command sir.");
     }
 
     /**
      * Parses a todo command. If input is invalid, throws exception.
      *
-     * @param fullCommand User input read from scanner.
      * @return AddCommand Command
      * @throws MaxException If description is empty.
      */
-    public Command handleTodo(String fullCommand) throws MaxException {
+    private Command handleTodo() throws MaxException {
         // Error checking: empty fields.
         // 6 is the length of the string "todo ".
         // If fullCommand is shorter than 6, then no argument is present.
-        if (fullCommand.length() < 6) {
+        if (tokenizer.length() < 6) {
             throw new EmptyArgumentException("Watch out -- todo description cannot be empty.");
         }
 
-        String description = fullCommand.substring(5).trim();
+        String description = tokenizer.trimmed(5, tokenizer.length());
         assert !description.equals("") : "Task description should not be empty";
-        return new AddCommand(new Todo(description));
+        return new AddCommand(new Todo(descriptions.intern(description)));
     }
     /**
      * Parses an event command. If input is invalid, throws exception.
      *
-     * @param fullCommand User input read from scanner.
      * @return AddCommand Command
      * @throws MaxException If command incomplete.
      */
-    public Command handleEvent(String fullCommand) throws MaxException {
-        int fromIndex = fullCommand.indexOf("/from");
-        int toIndex = fullCommand.indexOf("/to");
+    private Command handleEvent() throws MaxException {
+        int fromIndex = tokenizer.getFromIndex();
+        int toIndex = tokenizer.getToIndex();
 
         // Error checking: no /from or /to tag
         if (fromIndex == -1 || toIndex == -1) {
             throw new InvalidFormatException("Hey! Event must contain '/from' and '/to' tags.");
         }
 
-        String item = fullCommand.substring(5, fromIndex - 1).trim();
-        String from = fullCommand.substring(fromIndex + 5, toIndex - 1).trim();
-        String to = fullCommand.substring(toIndex + 3).trim();
+        String item = tokenizer.trimmed(5, fromIndex);
+        int fromStart = fromIndex + Tokenizer.TAG_FROM.length();
+        int toStart = toIndex + Tokenizer.TAG_TO.length();
 
         // Error checking: empty fields
-        if (item.isEmpty() || from.isEmpty() || to.isEmpty()) {
+        if (item.isEmpty() || tokenizer.isBlank(fromStart, toIndex) || tokenizer.isBlank(toStart, tokenizer.length())) {
             throw new EmptyArgumentException("Oh no! Event item, 'from' date, or 'to' date cannot be empty.");
         }
 
         assert !item.equals("") : "Event item should not be empty";
 
-        LocalDate fromDate = LocalDate.parse(from);
-        LocalDate toDate = LocalDate.parse(to);
+        LocalDate fromDate = parseTrimmedDate(fromStart, toIndex);
+        LocalDate toDate = parseTrimmedDate(toStart, tokenizer.length());
 
-        return new AddCommand(new Event(item, fromDate, toDate));
+        return new AddCommand(new Event(descriptions.intern(item), fromDate, toDate));
     }
     /**
      * Parses a deadline command. If input is invalid, throws exception.
      *
-     * @param fullCommand User input read from scanner.
      * @return AddCommand Command
      * @throws MaxException If description is empty.
      */
-    public Command handleDeadline(String fullCommand) throws MaxException {
-        int byIndex = fullCommand.indexOf("/by");
+    private Command handleDeadline() throws MaxException {
+        int byIndex = tokenizer.getByIndex();
 
         // Error checking: no /by tag
         if (byIndex == -1) {
             throw new InvalidFormatException("Try again... deadline must include a '/by' tag!");
         }
 
-        String item = fullCommand.substring(8, byIndex - 1).trim();
-        String by = fullCommand.substring(byIndex + 3).trim();
+        String item = tokenizer.trimmed(8, byIndex);
+        int byStart = byIndex + Tokenizer.TAG_BY.length();
 
         // Error checking: empty fields
-        if (item.isEmpty() || by.isEmpty()) {
+        if (item.isEmpty() || tokenizer.isBlank(byStart, tokenizer.length())) {
             throw new EmptyArgumentException("Oops... Deadline item or 'by' date cannot be empty.");
         }
 
         assert !item.equals("") : "Deadline item should not be empty";
 
-        LocalDate byDate = LocalDate.parse(by);
+        LocalDate byDate = parseTrimmedDate(byStart, tokenizer.length());
 
-        return new AddCommand(new Deadline(item, byDate));
+        return new AddCommand(new Deadline(descriptions.intern(item), byDate));
     }
     /**
      * Parses a delete command.
      *
-     * @param fullCommand User input read from scanner.
      * @return DeleteCommand Command
      */
-    public Command handleDelete(String fullCommand) throws MaxException {
-        try {
-            int deleteNumber = parseInt(fullCommand.substring(7));
-            assert deleteNumber > 0 : "Delete number should be positive integer";
-            return new DeleteCommand(deleteNumber);
-        } catch (StringIndexOutOfBoundsException e) {
+    private Command handleDelete() throws MaxException {
+        // 7 is the length of the string "delete ".
+        if (tokenizer.length() < 7) {
             throw new EmptyArgumentException("Please supply some arguments!");
         }
+        int deleteNumber = tokenizer.parseInt(7, tokenizer.length());
+        assert deleteNumber > 0 : "Delete number should be positive integer";
+        return new DeleteCommand(deleteNumber);
     }
     /**
      * Parses a mark command. If input is invalid, throws exception.
      *
-     * @param fullCommand User input read from scanner.
      * @return MarkCommand Command
      * @throws MaxException If mark number is invalid.
      */
-    public Command handleMark(String fullCommand) throws MaxException {
-        int markNumber;
-
-        try {
-            markNumber = parseInt(fullCommand.substring(5));
-        } catch (StringIndexOutOfBoundsException e) {
+    private Command handleMark() throws MaxException {
+        // 5 is the length of the string "mark ".
+        if (tokenizer.length() < 5) {
             throw new EmptyArgumentException("Please supply some arguments!");
         }
+        int markNumber = tokenizer.parseInt(5, tokenizer.length());
 
         // Error checking: negative integer
         if (markNumber <= 0) {
@@ -202,18 +213,15 @@ public class Parser {
     /**
      * Parses an unmark command. If input is invalid, throws exception.
      *
-     * @param fullCommand User input read from scanner.
      * @return UnmarkCommand Command
      * @throws MaxException If unmark number is invalid.
      */
-    public Command handleUnmark(String fullCommand) throws MaxException {
-        int unmarkNumber;
-
-        try {
-            unmarkNumber = parseInt(fullCommand.substring(7));
-        } catch (StringIndexOutOfBoundsException e) {
+    private Command handleUnmark() throws MaxException {
+        // 7 is the length of the string "unmark ".
+        if (tokenizer.length() < 7) {
             throw new EmptyArgumentException("Please supply some arguments!");
         }
+        int unmarkNumber = tokenizer.parseInt(7, tokenizer.length());
 
         // Error checking: negative integer
         if (unmarkNumber <= 0) {
@@ -228,16 +236,125 @@ public class Parser {
     /**
      * Parses user input for phrase to be found.
      *
-     * @param fullCommand User input
      * @return Find command
      */
-    public Command handleFind(String fullCommand) throws MaxException {
-        try {
-            String[] items = fullCommand.substring(5).split(" ");
-            return new FindCommand(items);
-        } catch (StringIndexOutOfBoundsException e) {
+    private Command handleFind() throws MaxException {
+        // 5 is the length of the string "find ".
+        if (tokenizer.length() < 5) {
             throw new EmptyArgumentException("Please supply some arguments!");
         }
+        String[] items = new String[tokenizer.splitWords(5)];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = tokenizer.word(i);
+        }
+        return new FindCommand(items);
+    }
+
+    /**
+     * Parses a due command. If input is invalid, throws exception.
+     *
+     * @return DueCommand Command
+     * @throws MaxException If date is missing.
+     */
+    private Command handleDue() throws MaxException {
+        // 4 is the length of the string "due ".
+        if (tokenizer.length() <= 4 || tokenizer.isBlank(4, tokenizer.length())) {
+            throw new EmptyArgumentException("Due by when? Try due <yyyy-mm-dd>.");
+        }
+        LocalDate date = parseTrimmedDate(4, tokenizer.length());
+        return new DueCommand(date);
+    }
+
+    /**
+     * Parses a between command. If input is invalid, throws exception.
+     *
+     * @return BetweenCommand Command
+     * @throws MaxException If either date is missing.
+     */
+    private Command handleBetween() throws MaxException {
+        // 8 is the length of the string "between ".
+        int length = tokenizer.length();
+        int fromStart = tokenizer.trimStart(Math.min(8, length), length);
+        int fromEnd = tokenizer.nextSpace(fromStart, length);
+        int toStart = tokenizer.trimStart(fromEnd, length);
+        int toEnd = tokenizer.nextSpace(toStart, length);
+        if (fromStart == fromEnd || toStart == toEnd || !tokenizer.isBlank(toEnd, length)) {
+            throw new InvalidFormatException("Hmm... between needs two dates: between <yyyy-mm-dd> <yyyy-mm-dd>.");
+        }
+        LocalDate from = tokenizer.parseDate(fromStart, fromEnd);
+        LocalDate to = tokenizer.parseDate(toStart, toEnd);
+        return new BetweenCommand(from, to);
+    }
+
+    /**
+     * Parses a use command. If input is invalid, throws exception.
+     *
+     * @return UseCommand Command
+     * @throws MaxException If list name is missing.
+     */
+    private Command handleUse() throws MaxException {
+        // 4 is the length of the string "use ".
+        String name = tokenizer.trimmed(Math.min(4, tokenizer.length()), tokenizer.length());
+        if (name.isEmpty()) {
+            throw new EmptyArgumentException("Which list? Try use <name>.");
+        }
+        return new UseCommand(name);
     }
-}
 
+    /**
+     * Parses the file name given to an export or import command.
+     *
+     * @param verb Command word before the file name
+     * @return File name
+     * @throws MaxException If no file name is given.
+     */
+    private String handleFileArgument(String verb) throws MaxException {
+        String path = tokenizer.trimmed(Math.min(verb.length() + 1, tokenizer.length()), tokenizer.length());
+        if (path.isEmpty()) {
+            throw new EmptyArgumentException(String.format("Which file? Try %s <file>.", verb));
+        }
+        return path;
+    }
+
+    /**
+     * Parses a list command, which may ask for a range of tasks or a page.
+     *
+     * @return ListCommand Command
+     * @throws MaxException If range or page is invalid.
+     */
+    private Command handleList() throws MaxException {
+        // 4 is the length of the string "list".
+        int start = tokenizer.trimStart(4, tokenizer.length());
+        int end = tokenizer.trimEnd(start, tokenizer.length());
+        if (start == end) {
+            return new ListCommand();
+        }
+        if (tokenizer.startsWith(ListCommand.PAGE_FLAG, start)) {
+            int page = parseTrimmedInt(start + ListCommand.PAGE_FLAG.length(), end);
+            if (page <= 0) {
+                throw new InvalidArgumentException("Make sure you enter a valid integer!");
+            }
+            return ListCommand.ofPage(page);
+        }
+        int dashIndex = tokenizer.indexOf('-', start, end);
+        if (dashIndex == -1) {
+            throw new InvalidFormatException("Try list, list <from>-<to> or list --page <n>.");
+        }
+        int from = parseTrimmedInt(start, dashIndex);
+        int to = parseTrimmedInt(dashIndex + 1, end);
+        if (from <= 0 || to < from) {
+            throw new InvalidArgumentException("Make sure you enter a valid range!");
+        }
+        return new ListCommand(from, to);
+    }
+
+    private int parseTrimmedInt(int start, int end) {
+        int trimmedStart = tokenizer.trimStart(start, end);
+        return tokenizer.parseInt(trimmedStart, tokenizer.trimEnd(trimmedStart, end));
+    }
+
+    private LocalDate parseTrimmedDate(int start, int end) {
+        int trimmedStart = tokenizer.trimStart(start, end);
+        return tokenizer.parseDate(trimmedStart, tokenizer.trimEnd(trimmedStart, end));
+    }
+}
@@ -0,0 +1,273 @@
+package max.parser;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Scans a line of user input once, recording where the command word ends and where the
+ * {@code /by}, {@code /from} and {@code /to} tags start.
+ * Arguments are handled as offsets into the input, so no intermediate strings are created
+ * until a command actually needs one. A tokenizer is reset for every line and is not thread-safe.
+ */
+public class Tokenizer {
+    public static final String TAG_BY = "/by";
+    public static final String TAG_FROM = "/from";
+    public static final String TAG_TO = "/to";
+
+    private String input = "";
+    // Start and end offsets of each word found by the last call to splitWords, in pairs
+    private int[] words = new int[16];
+    private int verbEnd;
+    private int byIndex;
+    private int fromIndex;
+    private int toIndex;
+
+    /**
+     * Scans a new line of input, replacing the previous one.
+     *
+     * @param input Line of user input
+     */
+    public void reset(String input) {
+        this.input = input;
+        verbEnd = -1;
+        byIndex = -1;
+        fromIndex = -1;
+        toIndex = -1;
+
+        int length = input.length();
+        for (int i = 0; i < length; i++) {
+            char c = input.charAt(i);
+            if (c == ' ' && verbEnd == -1) {
+                verbEnd = i;
+            } else if (c == '/') {
+                // Only the first occurrence of each tag counts
+                if (byIndex == -1 && input.startsWith(TAG_BY, i)) {
+                    byIndex = i;
+                } else if (fromIndex == -1 && input.startsWith(TAG_FROM, i)) {
+                    fromIndex = i;
+                } else if (toIndex == -1 && input.startsWith(TAG_TO, i)) {
+                    toIndex = i;
+                }
+            }
+        }
+        if (verbEnd == -1) {
+            verbEnd = length;
+        }
+    }
+
+    public int length() {
+        return input.length();
+    }
+
+    /**
+     * Checks whether the command word, up to the first space, is exactly the given word.
+     *
+     * @param word Command word
+     * @return True if the input starts with the given command word
+     */
+    public boolean isVerb(String word) {
+        return verbEnd == word.length() && input.startsWith(word);
+    }
+
+    public int getByIndex() {
+        return byIndex;
+    }
+
+    public int getFromIndex() {
+        return fromIndex;
+    }
+
+    public int getToIndex() {
+        return toIndex;
+    }
+
+    /**
+     * Returns the first offset in the given span that is not whitespace.
+     *
+     * @param start Start of span, inclusive
+     * @param end End of span, exclusive
+     * @return Start of the trimmed span
+     */
+    public int trimStart(int start, int end) {
+        while (start < end && input.charAt(start) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    /**
+     * Returns the offset after the last character in the given span that is not whitespace.
+     *
+     * @param start Start of span, inclusive
+     * @param end End of span, exclusive
+     * @return End of the trimmed span
+     */
+    public int trimEnd(int start, int end) {
+        while (end > start && input.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    /**
+     * Returns the offset of the first whitespace character in the given span.
+     *
+     * @param start Start of span, inclusive
+     * @param end End of span, exclusive
+     * @return Offset of first whitespace, or end if there is none
+     */
+    public int nextSpace(int start, int end) {
+        while (start < end && input.charAt(start) > ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    /**
+     * Returns the offset of the first occurrence of a character in the given span.
+     *
+     * @param c Character to find
+     * @param start Start of span, inclusive
+     * @param end End of span, exclusive
+     * @return Offset of character, or -1 if it does not occur in the span
+     */
+    public int indexOf(char c, int start, int end) {
+        int index = input.indexOf(c, start);
+        return index < end ? index : -1;
+    }
+
+    /**
+     * Checks whether the input has the given text at an offset.
+     *
+     * @param prefix Text to look for
+     * @param offset Offset into the input
+     * @return True if the text occurs at the offset
+     */
+    public boolean startsWith(String prefix, int offset) {
+        return input.startsWith(prefix, offset);
+    }
+
+    /**
+     * Returns the given span with surrounding whitespace removed, like {@link String#trim}.
+     * An empty string is returned if the span is empty or reversed.
+     *
+     * @param start Start of span, inclusive
+     * @param end End of span, exclusive
+     * @return Trimmed text of span
+     */
+    public String trimmed(int start, int end) {
+        int trimmedStart = trimStart(start, end);
+        int trimmedEnd = trimEnd(trimmedStart, end);
+        return trimmedStart >= trimmedEnd ? "" : input.substring(trimmedStart, trimmedEnd);
+    }
+
+    /**
+     * Splits the input from an offset to its end on single spaces, like {@link String#split} with a space,
+     * but only records where each word starts and ends. Use {@link #word} to get the text of a word.
+     *
+     * @param start Offset to start splitting from
+     * @return Number of words after the offset
+     */
+    public int splitWords(int start) {
+        int length = input.length();
+        if (start >= length) {
+            // Like String.split, nothing to split still gives one empty word
+            addWord(0, length, length);
+            return 1;
+        }
+        int count = 0;
+        int nonEmptyCount = 0;
+        int wordStart = start;
+        for (int i = start; i <= length; i++) {
+            if (i == length || input.charAt(i) == ' ') {
+                addWord(count++, wordStart, i);
+                if (i > wordStart) {
+                    nonEmptyCount = count;
+                }
+                wordStart = i + 1;
+            }
+        }
+        // Trailing empty words are dropped, as String.split does
+        return nonEmptyCount;
+    }
+
+    /**
+     * Returns the text of a word found by the last call to {@link #splitWords}.
+     *
+     * @param index Zero-based index of word
+     * @return Text of word
+     */
+    public String word(int index) {
+        return input.substring(words[2 * index], words[2 * index + 1]);
+    }
+
+    private void addWord(int index, int start, int end) {
+        if (2 * index + 1 >= words.length) {
+            words = Arrays.copyOf(words, words.length * 2);
+        }
+        words[2 * index] = start;
+        words[2 * index + 1] = end;
+    }
+
+    /**
+     * Checks whether the given span is empty or only whitespace.
+     *
+     * @param start Start of span, inclusive
+     * @param end End of span, exclusive
+     * @return True if the span holds no text
+     */
+    public boolean isBlank(int start, int end) {
+        return trimStart(start, end) >= end;
+    }
+
+    /**
+     * Parses the given span as a decimal integer, without trimming it.
+     *
+     * @param start Start of span, inclusive
+     * @param end End of span, exclusive
+     * @return Parsed integer
+     * @throws NumberFormatException If the span is not an integer
+     */
+    public int parseInt(int start, int end) {
+        return Integer.parseInt(input, start, end, 10);
+    }
+
+    /**
+     * Parses the given span as a yyyy-mm-dd date, without trimming it.
+     * Plain dates are read digit by digit; anything else falls back to {@link LocalDate#parse},
+     * which also reports invalid input.
+     *
+     * @param start Start of span, inclusive
+     * @param end End of span, exclusive
+     * @return Parsed date
+     * @throws java.time.format.DateTimeParseException If the span is not a valid date
+     */
+    public LocalDate parseDate(int start, int end) {
+        if (end - start == 10 && input.charAt(start + 4) == '-' && input.charAt(start + 7) == '-') {
+            int year = digits(start, start + 4);
+            int month = digits(start + 5, start + 7);
+            int day = digits(start + 8, start + 10);
+            if (year >= 0 && month >= 0 && day >= 0) {
+                try {
+                    return LocalDate.of(year, month, day);
+                } catch (DateTimeException e) {
+                    // Out of range fields, such as 2024-02-30, are reported by the fallback below
+                }
+            }
+        }
+        return LocalDate.parse(input.substring(start, end));
+    }
+
+    private int digits(int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = input.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
@@ -0,0 +1,113 @@
+package max.storage;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+
+import max.exception.MaxException;
+import max.tasks.Deadline;
+import max.tasks.DescriptionPool;
+import max.tasks.Event;
+import max.tasks.Task;
+import max.tasks.Todo;
+
+/**
+ * Compact format of binary snapshots. Each record holds the task type and done flag as one byte each,
+ * then its dates as epoch-day ints, then its description as a length-prefixed UTF-8 string.
+ * Nothing has to be searched for when decoding, and the done flag sits at a fixed offset so it can be
+ * updated in place.
+ */
+public class BinaryTaskCodec implements TaskCodec {
+    static final int DONE_OFFSET = 1;
+    private static final byte TODO = 'T';
+    private static final byte DEADLINE = 'D';
+    private static final byte EVENT = 'E';
+
+    private final DescriptionPool descriptions = DescriptionPool.getShared();
+
+    @Override
+    public void encode(Task task, DataOutputStream out) throws IOException {
+        if (task instanceof Deadline) {
+            out.writeByte(DEADLINE);
+            out.writeBoolean(task.isDone());
+            out.writeInt((int) ((Deadline) task).getByDate().toEpochDay());
+        } else if (task instanceof Event) {
+            out.writeByte(EVENT);
+            out.writeBoolean(task.isDone());
+            out.writeInt((int) ((Event) task).getFromDate().toEpochDay());
+            out.writeInt((int) ((Event) task).getToDate().toEpochDay());
+        } else {
+            out.writeByte(TODO);
+            out.writeBoolean(task.isDone());
+        }
+        byte[] item = task.getItem().getBytes(StandardCharsets.UTF_8);
+        out.writeInt(item.length);
+        out.write(item);
+    }
+
+    @Override
+    public Task decode(ByteBuffer in) throws MaxException {
+        try {
+            byte type = in.get();
+            boolean isDone = in.get() != 0;
+            switch (type) {
+            case TODO:
+                return new Todo(readItem(in), isDone);
+            case DEADLINE: {
+                LocalDate byDate = LocalDate.ofEpochDay(in.getInt());
+                return new Deadline(readItem(in), byDate, isDone);
+            }
+            case EVENT: {
+                LocalDate fromDate = LocalDate.ofEpochDay(in.getInt());
+                LocalDate toDate = LocalDate.ofEpochDay(in.getInt());
+                return new Event(readItem(in), fromDate, toDate, isDone);
+            }
+            default:
+                throw new MaxException("Hey! Your storage file is corrupted.");
+            }
+        } catch (BufferUnderflowException | NegativeArraySizeException | DateTimeException e) {
+            throw new MaxException("Hey! Your storage file is corrupted.");
+        }
+    }
+
+    /**
+     * Checks that the bytes between the given offsets hold exactly one valid record, without decoding it.
+     * Any dates and description a record can hold decode successfully, so only its type and length are checked.
+     *
+     * @param in Buffer holding the record
+     * @param start Offset of the record
+     * @param end Offset just past the record
+     * @return True if the bytes hold a valid record, false otherwise
+     */
+    public boolean isValid(ByteBuffer in, int start, int end) {
+        if (end - start < 2) {
+            return false;
+        }
+        int dateBytes;
+        switch (in.get(start)) {
+        case TODO:
+            dateBytes = 0;
+            break;
+        case DEADLINE:
+            dateBytes = 4;
+            break;
+        case EVENT:
+            dateBytes = 8;
+            break;
+        default:
+            return false;
+        }
+        int lengthOffset = start + 2 + dateBytes;
+        return lengthOffset + 4 <= end && in.getInt(lengthOffset) == end - lengthOffset - 4;
+    }
+
+    private String readItem(ByteBuffer in) {
+        byte[] item = new byte[in.getInt()];
+        in.get(item);
+        return descriptions.intern(new String(item, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,100 @@
+package max.storage;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+import max.exception.MaxException;
+
+/**
+ * Reads the task lines of a text snapshot in parallel.
+ * The content is split into chunks that each end on a newline, the chunks are read on the common
+ * fork-join pool, and their lines are joined back together in file order.
+ */
+public class ChunkedLineReader {
+    // Large enough that small files are read as a single chunk on the calling thread
+    private static final int CHUNK_SIZE = 1 << 20;
+    private static final TextTaskCodec CODEC = new TextTaskCodec();
+
+    private ChunkedLineReader() {
+    }
+
+    /**
+     * Returns the lines of the given content, in order. Every line must hold a valid stored task.
+     *
+     * @param content Buffer holding the file, such as a mapping of it
+     * @param length Number of bytes at the start of the buffer that hold task lines
+     * @return Task lines
+     * @throws MaxException If a line does not hold a valid stored task
+     */
+    public static List<String> readLines(ByteBuffer content, int length) throws MaxException {
+        List<Chunk> chunks = new ArrayList<>();
+        int start = 0;
+        while (start < length) {
+            int end = Math.min(start + CHUNK_SIZE, length);
+            while (end < length && content.get(end - 1) != '\n') {
+                end++;
+            }
+            chunks.add(new Chunk(content, start, end));
+            start = end;
+        }
+        ForkJoinTask.invokeAll(chunks);
+
+        int lineCount = 0;
+        for (Chunk chunk : chunks) {
+            if (chunk.join() == null) {
+                throw new MaxException("Hey! Your storage file is corrupted.");
+            }
+            lineCount += chunk.join().size();
+        }
+        ArrayList<String> lines = new ArrayList<>(lineCount);
+        for (Chunk chunk : chunks) {
+            lines.addAll(chunk.join());
+        }
+        return lines;
+    }
+
+    /**
+     * Newline-aligned range of the content, read into lines.
+     * Completes with null if any line is not a stored task.
+     */
+    @SuppressWarnings("serial")
+    private static class Chunk extends RecursiveTask<List<String>> {
+        private final ByteBuffer content;
+        private final int start;
+        private final int end;
+
+        Chunk(ByteBuffer content, int start, int end) {
+            this.content = content;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected List<String> compute() {
+            byte[] bytes = new byte[end - start];
+            content.duplicate().position(start).get(bytes);
+
+            List<String> lines = new ArrayList<>();
+            int lineStart = 0;
+            while (lineStart < bytes.length) {
+                int lineEnd = lineStart;
+                while (lineEnd < bytes.length && bytes[lineEnd] != '\n') {
+                    lineEnd++;
+                }
+                // Lines edited on Windows may end with "\r\n"
+                int textEnd = lineEnd > lineStart && bytes[lineEnd - 1] == '\r' ? lineEnd - 1 : lineEnd;
+                String line = new String(bytes, lineStart, textEnd - lineStart, StandardCharsets.UTF_8);
+                if (!CODEC.isValid(line)) {
+                    return null;
+                }
+                lines.add(line);
+                lineStart = lineEnd + 1;
+            }
+            return lines;
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package max.storage;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import max.exception.MaxException;
+import max.tasks.Task;
+
+/**
+ * Append-only log of task list mutations.
+ * Each mutation is stored as a single line, so saving a change costs one small write
+ * instead of rewriting every task in the snapshot file.
+ * Records are buffered until the journal is flushed, which may happen on another thread.
+ */
+public class Journal implements Flushable {
+    private static final String ADD = "A";
+    private static final String DELETE = "D";
+    private static final String MARK = "M";
+    private static final String UNMARK = "U";
+    private static final TextTaskCodec CODEC = new TextTaskCodec();
+    // Bytes read at a time when looking back from the end of a journal for its last newline
+    private static final int TAIL_BLOCK_SIZE = 4096;
+
+    private final Path logPath;
+    private final Path rotatedPath;
+    private FileChannel channel;
+    private BufferedWriter writer;
+    private long size;
+    private boolean hasDeletes;
+
+    /**
+     * Initialises a journal stored next to the given snapshot file.
+     *
+     * @param snapshotPath Location of the snapshot the journal belongs to
+     */
+    public Journal(Path snapshotPath) {
+        this.logPath = Path.of(snapshotPath + ".log");
+        this.rotatedPath = Path.of(snapshotPath + ".log.1");
+    }
+
+    /**
+     * Records that a task was added to the end of the list.
+     *
+     * @param task Task that was added
+     * @throws IOException If the journal cannot be written
+     */
+    public void appendAdd(Task task) throws IOException {
+        append(ADD + " " + CODEC.encodeLine(task));
+    }
+
+    /**
+     * Records that a task was deleted.
+     *
+     * @param taskNumber Task number of deleted task
+     * @throws IOException If the journal cannot be written
+     */
+    public void appendDelete(int taskNumber) throws IOException {
+        append(DELETE + " " + taskNumber);
+        hasDeletes = true;
+    }
+
+    /**
+     * Records that a task was marked as done.
+     *
+     * @param taskNumber Task number of marked task
+     * @throws IOException If the journal cannot be written
+     */
+    public void appendMark(int taskNumber) throws IOException {
+        append(MARK + " " + taskNumber);
+    }
+
+    /**
+     * Records that a task was unmarked.
+     *
+     * @param taskNumber Task number of unmarked task
+     * @throws IOException If the journal cannot be written
+     */
+    public void appendUnmark(int taskNumber) throws IOException {
+        append(UNMARK + " " + taskNumber);
+    }
+
+    private synchronized void append(String record) throws IOException {
+        if (writer == null) {
+            if (logPath.getParent() != null) {
+                Files.createDirectories(logPath.getParent());
+            }
+            channel = FileChannel.open(logPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+            writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8));
+        }
+        writer.write(record);
+        writer.newLine();
+        size += record.length() + 1;
+    }
+
+    /**
+     * Writes any buffered records to disk and waits until they are stored durably.
+     *
+     * @throws IOException If the journal cannot be written
+     */
+    @Override
+    public synchronized void flush() throws IOException {
+        if (writer != null) {
+            writer.flush();
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Returns approximate number of bytes recorded since the last snapshot.
+     *
+     * @return Size of journal
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Checks if any task was deleted since the last snapshot, which shifts task numbers
+     * away from their positions in the snapshot.
+     *
+     * @return True if the journal contains a deletion, false otherwise
+     */
+    public boolean hasDeletes() {
+        return hasDeletes;
+    }
+
+    /**
+     * Checks if there are any journal files on disk.
+     *
+     * @return True if a journal exists, false otherwise
+     */
+    public boolean exists() {
+        return Files.exists(logPath) || Files.exists(rotatedPath);
+    }
+
+    /**
+     * Checks if a rotated journal is waiting to be folded into a snapshot.
+     *
+     * @return True if rotated journal exists, false otherwise
+     */
+    public boolean hasRotated() {
+        return Files.exists(rotatedPath);
+    }
+
+    /**
+     * Moves the current journal aside so that a snapshot can be taken while new mutations
+     * keep being recorded. If an earlier rotated journal was never folded in, the current
+     * journal is appended to it instead.
+     *
+     * @throws IOException If the journal files cannot be moved
+     */
+    public synchronized void rotate() throws IOException {
+        close();
+        if (Files.exists(logPath)) {
+            if (Files.exists(rotatedPath)) {
+                Files.write(rotatedPath, Files.readAllBytes(logPath), StandardOpenOption.APPEND);
+                Files.delete(logPath);
+            } else {
+                Files.move(logPath, rotatedPath, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } else if (!Files.exists(rotatedPath)) {
+            // The rotated journal marks a snapshot as in progress, so it must exist even when empty
+            if (rotatedPath.getParent() != null) {
+                Files.createDirectories(rotatedPath.getParent());
+            }
+            Files.createFile(rotatedPath);
+        }
+        size = 0;
+        hasDeletes = false;
+    }
+
+    /**
+     * Deletes the rotated journal once its mutations are part of a snapshot.
+     *
+     * @throws IOException If the rotated journal cannot be deleted
+     */
+    public void deleteRotated() throws IOException {
+        Files.deleteIfExists(rotatedPath);
+    }
+
+    /**
+     * Renames the journal files by adding the given suffix, so that new records do not land in them.
+     *
+     * @param suffix Suffix added to each file name
+     * @throws IOException If a journal file cannot be renamed
+     */
+    public synchronized void moveAside(String suffix) throws IOException {
+        close();
+        for (Path path : new Path[] {rotatedPath, logPath}) {
+            if (Files.exists(path)) {
+                Files.move(path, Path.of(path + suffix));
+            }
+        }
+        size = 0;
+        hasDeletes = false;
+    }
+
+    /**
+     * Applies all recorded mutations, oldest first, to a task list loaded from the snapshot.
+     * A record cut short by a crash while it was being written can only be the last one in the file,
+     * since every record is written in full before the next; it is dropped from the file and ignored.
+     *
+     * @param tasks Task list loaded from snapshot
+     * @param storage Storage used to interpret added tasks
+     * @throws IOException If the journal cannot be read
+     * @throws MaxException If a journal record is invalid
+     */
+    public void replay(List<Task> tasks, Storage storage) throws IOException, MaxException {
+        size = 0;
+        hasDeletes = false;
+        for (Path path : new Path[] {rotatedPath, logPath}) {
+            if (!Files.exists(path)) {
+                continue;
+            }
+            dropTornRecord(path);
+            try (BufferedReader br = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                String record;
+                while ((record = br.readLine()) != null) {
+                    if (!record.isEmpty()) {
+                        apply(record, tasks, storage);
+                        size += record.length() + 1;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Truncates the file after its last newline, removing a final record that was never finished.
+     */
+    private static void dropTornRecord(Path path) throws IOException {
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer block = ByteBuffer.allocate(TAIL_BLOCK_SIZE);
+            long end = file.size();
+            while (end > 0) {
+                int length = (int) Math.min(TAIL_BLOCK_SIZE, end);
+                block.clear().limit(length);
+                while (block.hasRemaining()) {
+                    if (file.read(block, end - length + block.position()) < 0) {
+                        break;
+                    }
+                }
+                for (int i = length - 1; i >= 0; i--) {
+                    if (block.get(i) == '\n') {
+                        truncate(file, end - length + i + 1);
+                        return;
+                    }
+                }
+                end -= length;
+            }
+            truncate(file, 0);
+        }
+    }
+
+    private static void truncate(FileChannel file, long length) throws IOException {
+        if (length < file.size()) {
+            file.truncate(length);
+            file.force(false);
+        }
+    }
+
+    private void apply(String record, List<Task> tasks, Storage storage) throws MaxException {
+        try {
+            String type = record.substring(0, 1);
+            String argument = record.substring(2);
+            switch (type) {
+            case ADD:
+                storage.loadTask(argument, tasks);
+                break;
+            case DELETE:
+                tasks.remove(Integer.parseInt(argument) - 1);
+                hasDeletes = true;
+                break;
+            case MARK:
+                setDone(tasks, Integer.parseInt(argument) - 1, true);
+                break;
+            case UNMARK:
+                setDone(tasks, Integer.parseInt(argument) - 1, false);
+                break;
+            default:
+                throw new MaxException("Hey! Your storage file is corrupted.");
+            }
+        } catch (IndexOutOfBoundsException | NumberFormatException e) {
+            throw new MaxException("Hey! Your storage file is corrupted.");
+        }
+    }
+
+    /**
+     * Updates the done status of a task, writing it back for lists that hand out views of their tasks.
+     */
+    private static void setDone(List<Task> tasks, int index, boolean isDone) {
+        Task task = tasks.get(index);
+        if (isDone) {
+            task.mark();
+        } else {
+            task.unmark();
+        }
+        tasks.set(index, task);
+    }
+
+    /**
+     * Closes the journal file. It is reopened on the next mutation.
+     *
+     * @throws IOException If the journal cannot be closed
+     */
+    public synchronized void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+            channel = null;
+        }
+    }
+}
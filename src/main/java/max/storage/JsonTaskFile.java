@@ -0,0 +1,160 @@
+package max.storage;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.MalformedJsonException;
+import max.exception.MaxException;
+import max.tasks.Deadline;
+import max.tasks.DescriptionPool;
+import max.tasks.Event;
+import max.tasks.Task;
+import max.tasks.Todo;
+
+/**
+ * Reads and writes task lists as JSON, for exchanging them with other tools.
+ * The file holds an array of objects such as {"type": "deadline", "description": "return book",
+ * "done": false, "by": "2023-09-30"}. Tasks are streamed one at a time in both directions,
+ * so no JSON tree of the whole file is ever held in memory.
+ */
+public class JsonTaskFile {
+    private JsonTaskFile() {
+    }
+
+    /**
+     * Writes tasks to a JSON file, replacing any existing file.
+     *
+     * @param tasks Tasks to be written
+     * @param path Location of JSON file
+     * @throws IOException If the file cannot be written
+     */
+    public static void write(List<Task> tasks, Path path) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+                JsonWriter json = new JsonWriter(writer)) {
+            json.setIndent("  ");
+            json.beginArray();
+            for (Task task : tasks) {
+                writeTask(task, json);
+            }
+            json.endArray();
+        }
+    }
+
+    private static void writeTask(Task task, JsonWriter json) throws IOException {
+        json.beginObject();
+        if (task instanceof Deadline) {
+            json.name("type").value("deadline");
+        } else if (task instanceof Event) {
+            json.name("type").value("event");
+        } else {
+            json.name("type").value("todo");
+        }
+        json.name("description").value(task.getItem());
+        json.name("done").value(task.isDone());
+        if (task instanceof Deadline) {
+            json.name("by").value(((Deadline) task).getByDate().toString());
+        } else if (task instanceof Event) {
+            json.name("from").value(((Event) task).getFromDate().toString());
+            json.name("to").value(((Event) task).getToDate().toString());
+        }
+        json.endObject();
+    }
+
+    /**
+     * Reads tasks from a JSON file, handing each one over as soon as it has been read.
+     * Unknown fields are skipped, so files from newer versions or other tools can still be read.
+     *
+     * @param path Location of JSON file
+     * @param consumer Action given each task, in file order
+     * @return Number of tasks read
+     * @throws IOException If the file cannot be read
+     * @throws MaxException If the file is not a valid JSON task list
+     */
+    public static int read(Path path, Consumer<Task> consumer) throws IOException, MaxException {
+        int count = 0;
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8);
+                JsonReader json = new JsonReader(reader)) {
+            json.beginArray();
+            while (json.hasNext()) {
+                count++;
+                consumer.accept(readTask(json, count));
+            }
+            json.endArray();
+        } catch (MalformedJsonException | EOFException | IllegalStateException e) {
+            throw new MaxException("Hmm... that file is not a JSON list of tasks.");
+        }
+        return count;
+    }
+
+    private static Task readTask(JsonReader json, int taskNumber) throws IOException, MaxException {
+        String type = null;
+        String description = null;
+        boolean isDone = false;
+        String by = null;
+        String from = null;
+        String to = null;
+        json.beginObject();
+        while (json.hasNext()) {
+            switch (json.nextName()) {
+            case "type":
+                type = json.nextString();
+                break;
+            case "description":
+                description = json.nextString();
+                break;
+            case "done":
+                isDone = json.nextBoolean();
+                break;
+            case "by":
+                by = json.nextString();
+                break;
+            case "from":
+                from = json.nextString();
+                break;
+            case "to":
+                to = json.nextString();
+                break;
+            default:
+                json.skipValue();
+            }
+        }
+        json.endObject();
+
+        String invalid = String.format("Hmm... task %d in that file is missing something.", taskNumber);
+        if (type == null || description == null || description.isBlank()) {
+            throw new MaxException(invalid);
+        }
+        String item = DescriptionPool.getShared().intern(description.trim());
+        try {
+            switch (type) {
+            case "todo":
+                return new Todo(item, isDone);
+            case "deadline":
+                if (by == null) {
+                    throw new MaxException(invalid);
+                }
+                return new Deadline(item, LocalDate.parse(by), isDone);
+            case "event":
+                if (from == null || to == null) {
+                    throw new MaxException(invalid);
+                }
+                return new Event(item, LocalDate.parse(from), LocalDate.parse(to), isDone);
+            default:
+                throw new MaxException(String.format("Hmm... task %d in that file has an unknown type.", taskNumber));
+            }
+        } catch (DateTimeParseException e) {
+            throw new MaxException(String.format("Hmm... task %d in that file needs yyyy-mm-dd dates.", taskNumber));
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package max.storage;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import max.exception.MaxException;
+import max.tasks.Task;
+
+/**
+ * Binary task file accessed through a memory-mapped buffer.
+ * The file starts with a fixed header, followed by one record per task and an index of record offsets,
+ * so any task can be read or marked by its number without reading the tasks before it.
+ * A checksum trailer after the index covers everything except the done flags, which are updated in place.
+ * Files written before the trailer was added have none and are accepted as they are.
+ * Every record is checked to hold a valid task when the file is opened, so reading one later cannot fail.
+ */
+public class MappedTaskFile {
+    private static final int MAGIC = 0x4D415842; // "MAXB"
+    private static final int VERSION = 1;
+    private static final int COUNT_POSITION = 8;
+    private static final int INDEX_POSITION = 12;
+    private static final int HEADER_SIZE = 16;
+    private static final int CHECKSUM_MAGIC = 0x43524333; // "CRC3"
+    private static final int TRAILER_SIZE = 8;
+    private static final BinaryTaskCodec CODEC = new BinaryTaskCodec();
+
+    private final MappedByteBuffer buffer;
+    private final int size;
+    private final int indexOffset;
+
+    private MappedTaskFile(MappedByteBuffer buffer) {
+        this.buffer = buffer;
+        this.size = buffer.getInt(COUNT_POSITION);
+        this.indexOffset = buffer.getInt(INDEX_POSITION);
+    }
+
+    /**
+     * Maps an existing binary task file into memory.
+     *
+     * @param path Location of binary task file
+     * @return Mapped task file
+     * @throws IOException If file cannot be mapped
+     * @throws MaxException If file is not a valid binary task file
+     */
+    public static MappedTaskFile open(Path path) throws IOException, MaxException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long length = channel.size();
+            if (length < HEADER_SIZE) {
+                throw new MaxException("Hey! Your storage file is corrupted.");
+            }
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new MaxException("Hey! Your storage file is corrupted.");
+            }
+            long indexEnd = (long) buffer.getInt(INDEX_POSITION) + 4L * buffer.getInt(COUNT_POSITION);
+            boolean hasTrailer = indexEnd + TRAILER_SIZE == length && buffer.getInt((int) indexEnd) == CHECKSUM_MAGIC;
+            if (indexEnd != length && !hasTrailer) {
+                throw new MaxException("Hey! Your storage file is corrupted.");
+            }
+            checkRecords(buffer);
+            if (hasTrailer && buffer.getInt((int) indexEnd + 4) != checksum(buffer)) {
+                throw new MaxException("Hey! Your storage file is corrupted.");
+            }
+            return new MappedTaskFile(buffer);
+        }
+    }
+
+    /**
+     * Checks that the index points at consecutive records that each hold a valid task.
+     */
+    private static void checkRecords(ByteBuffer buffer) throws MaxException {
+        int count = buffer.getInt(COUNT_POSITION);
+        int indexOffset = buffer.getInt(INDEX_POSITION);
+        if (count < 0 || indexOffset < HEADER_SIZE) {
+            throw new MaxException("Hey! Your storage file is corrupted.");
+        }
+        for (int i = 0; i < count; i++) {
+            int start = buffer.getInt(indexOffset + 4 * i);
+            int end = i + 1 < count ? buffer.getInt(indexOffset + 4 * (i + 1)) : indexOffset;
+            if (start < HEADER_SIZE || end > indexOffset || !CODEC.isValid(buffer, start, end)) {
+                throw new MaxException("Hey! Your storage file is corrupted.");
+            }
+        }
+    }
+
+    /**
+     * Computes the checksum of a mapped file, skipping the done flag of every record.
+     * Records are covered first, then the index, then the header, which is the order they are written in.
+     * The records must already have been checked by {@link #checkRecords(ByteBuffer)}.
+     */
+    private static int checksum(ByteBuffer buffer) {
+        int count = buffer.getInt(COUNT_POSITION);
+        int indexOffset = buffer.getInt(INDEX_POSITION);
+        CRC32 crc = new CRC32();
+        ByteBuffer view = buffer.duplicate();
+        for (int i = 0; i < count; i++) {
+            int start = buffer.getInt(indexOffset + 4 * i);
+            int end = i + 1 < count ? buffer.getInt(indexOffset + 4 * (i + 1)) : indexOffset;
+            update(crc, view, start, start + BinaryTaskCodec.DONE_OFFSET);
+            update(crc, view, start + BinaryTaskCodec.DONE_OFFSET + 1, end);
+        }
+        update(crc, view, indexOffset, indexOffset + 4 * count);
+        update(crc, view, 0, HEADER_SIZE);
+        return (int) crc.getValue();
+    }
+
+    private static void update(CRC32 crc, ByteBuffer view, int from, int to) {
+        view.limit(to).position(from);
+        crc.update(view);
+    }
+
+    /**
+     * Writes tasks to a new binary task file, replacing any existing file, and forces it to disk.
+     *
+     * @param path Location of binary task file
+     * @param tasks Tasks to be written
+     * @throws IOException If file cannot be written
+     */
+    public static void write(Path path, List<Task> tasks) throws IOException {
+        int[] offsets = new int[tasks.size()];
+        int indexOffset;
+        CRC32 crc = new CRC32();
+        RecordBuffer record = new RecordBuffer();
+        DataOutputStream recordOut = new DataOutputStream(record);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(tasks.size());
+            out.writeInt(0); // Index offset is filled in once all records are written
+            for (int i = 0; i < tasks.size(); i++) {
+                offsets[i] = out.size();
+                record.reset();
+                CODEC.encode(tasks.get(i), recordOut);
+                // The done flag can change in place, so it is left out of the checksum
+                int doneOffset = BinaryTaskCodec.DONE_OFFSET;
+                crc.update(record.getBytes(), 0, doneOffset);
+                crc.update(record.getBytes(), doneOffset + 1, record.size() - doneOffset - 1);
+                record.writeTo(out);
+            }
+            indexOffset = out.size();
+            ByteBuffer index = ByteBuffer.allocate(4 * offsets.length);
+            for (int offset : offsets) {
+                index.putInt(offset);
+            }
+            out.write(index.array());
+            crc.update(index.array());
+            crc.update(ByteBuffer.allocate(HEADER_SIZE)
+                    .putInt(MAGIC).putInt(VERSION).putInt(tasks.size()).putInt(indexOffset).array());
+            out.writeInt(CHECKSUM_MAGIC);
+            out.writeInt((int) crc.getValue());
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(4).putInt(0, indexOffset);
+            channel.write(header, INDEX_POSITION);
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Byte buffer that exposes its contents without copying them.
+     */
+    private static class RecordBuffer extends ByteArrayOutputStream {
+        byte[] getBytes() {
+            return buf;
+        }
+    }
+
+    /**
+     * Returns number of tasks in the file.
+     *
+     * @return Number of tasks
+     */
+    public int size() {
+        return size;
+    }
+
+    private int offsetOf(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index);
+        }
+        return buffer.getInt(indexOffset + 4 * index);
+    }
+
+    /**
+     * Reads a single task from the file.
+     *
+     * @param index Zero-based index of task
+     * @return Task at given index
+     * @throws MaxException If the record is invalid
+     */
+    public Task get(int index) throws MaxException {
+        ByteBuffer view = buffer.duplicate();
+        view.position(offsetOf(index));
+        return CODEC.decode(view);
+    }
+
+    /**
+     * Updates the done status of a task in place.
+     *
+     * @param index Zero-based index of task
+     * @param isDone New done status
+     */
+    public void setDone(int index, boolean isDone) {
+        buffer.put(offsetOf(index) + BinaryTaskCodec.DONE_OFFSET, (byte) (isDone ? 1 : 0));
+    }
+
+    /**
+     * Flushes in-place changes to the underlying file.
+     */
+    public void force() {
+        buffer.force();
+    }
+}
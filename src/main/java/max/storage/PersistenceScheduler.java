@@ -0,0 +1,89 @@
+package max.storage;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces flush requests made within a short window into a single flush on a background thread.
+ * The first request in a window schedules the flush; requests arriving before it runs are covered by it,
+ * so a burst of changes costs one write instead of one per change.
+ */
+public class PersistenceScheduler {
+    private static final ScheduledExecutorService FLUSHER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "max-persistence");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Flushable target;
+    private final long windowMillis;
+    private ScheduledFuture<?> pendingFlush;
+    private IOException failure;
+
+    /**
+     * Initialises a scheduler that flushes the given target.
+     *
+     * @param target Target to be flushed
+     * @param windowMillis How long to wait for more requests before flushing, or 0 to flush on every request
+     */
+    public PersistenceScheduler(Flushable target, long windowMillis) {
+        this.target = target;
+        this.windowMillis = windowMillis;
+    }
+
+    /**
+     * Requests a flush, which happens once the current window ends.
+     * If the previous background flush failed, the failure is reported here instead.
+     *
+     * @throws IOException If the previous flush failed, or the target cannot be flushed immediately
+     */
+    public synchronized void requestFlush() throws IOException {
+        throwFailure();
+        if (windowMillis <= 0) {
+            target.flush();
+        } else if (pendingFlush == null) {
+            pendingFlush = FLUSHER.schedule(this::flushScheduled, windowMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flushScheduled() {
+        synchronized (this) {
+            pendingFlush = null;
+        }
+        try {
+            target.flush();
+        } catch (IOException e) {
+            synchronized (this) {
+                failure = e;
+            }
+        }
+    }
+
+    /**
+     * Flushes the target immediately on the calling thread, cancelling any scheduled flush.
+     *
+     * @throws IOException If the target cannot be flushed
+     */
+    public void flushNow() throws IOException {
+        synchronized (this) {
+            if (pendingFlush != null) {
+                pendingFlush.cancel(false);
+                pendingFlush = null;
+            }
+            failure = null;
+        }
+        target.flush();
+    }
+
+    private void throwFailure() throws IOException {
+        if (failure != null) {
+            IOException e = failure;
+            failure = null;
+            throw e;
+        }
+    }
+}
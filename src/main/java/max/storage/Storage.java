@@ -2,24 +2,83 @@ package max.storage;
 
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
-import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
+import java.io.EOFException;
 import java.io.IOException;
-import java.time.LocalDate;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
 
 import max.exception.MaxException;
-import max.tasks.Deadline;
-import max.tasks.Event;
+import max.tasks.LazyTaskList;
+import max.tasks.RecordTaskList;
 import max.tasks.Task;
 import max.tasks.TaskList;
-import max.tasks.Todo;
+import max.tasks.TombstoneList;
 /**
  * Loads and saves task list to memory.
+ * Changes are appended to a journal and periodically folded into the snapshot file in the background.
+ * Journal writes made within a short window of each other are flushed together in the background.
+ * Snapshots with a ".bin" extension use the memory-mapped binary format instead of text.
+ * Snapshots with a ".gz" extension are gzip-compressed text, which is decompressed as it is read.
+ * Snapshots are written to a temporary file, forced to disk and renamed over the old one,
+ * and carry a checksum that is verified when they are loaded.
+ * Tasks in the snapshot are only decoded when they are first accessed.
  */
 public class Storage {
+    // Journal must grow past this size (and past the snapshot size) before it is compacted
+    private static final long COMPACTION_THRESHOLD = 64 * 1024;
+    private static final String BINARY_EXTENSION = ".bin";
+    private static final String COMPRESSED_EXTENSION = ".gz";
+    // Added to the names of files that failed to load when they are moved aside
+    private static final String CORRUPTED_SUFFIX = ".corrupted-";
+    // Deflater input and inflater output are handled in blocks of this size
+    private static final int COMPRESSION_BUFFER_SIZE = 64 * 1024;
+    private static final long DEFAULT_FLUSH_WINDOW_MILLIS = 50;
+    // First line of a text snapshot written with a checksum line, which must then be present
+    private static final String FORMAT_HEADER = "#MAX 2\n";
+    // Last line of a text snapshot, holding the CRC-32 of every line before it
+    private static final String CHECKSUM_PREFIX = "#CRC32 ";
+    private static final String CHECKSUM_FORMAT = CHECKSUM_PREFIX + "%08x\n";
+    private static final int CHECKSUM_LENGTH = 16;
+    private static final TextTaskCodec TEXT_CODEC = new TextTaskCodec();
+    private static final ExecutorService COMPACTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "max-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private String filePath;
+    private Path snapshotPath;
+    private Path pendingSnapshotPath;
+    private Journal journal;
+    private Future<?> pendingCompaction;
+    private volatile long snapshotSize;
+    private boolean isBinary;
+    private boolean isCompressed;
+    private MappedTaskFile mappedSnapshot;
+    private PersistenceScheduler scheduler;
+    private boolean isDeferred = false;
 
     /**
      * Initialises location of task list in memory.
@@ -27,21 +86,53 @@ public class Storage {
      * @param filePath
      */
     public Storage(String filePath) {
+        this(filePath, DEFAULT_FLUSH_WINDOW_MILLIS);
+    }
+
+    /**
+     * Initialises location of task list in memory, with changes made within the given window
+     * of each other being written to disk together.
+     *
+     * @param filePath File location of stored task list
+     * @param flushWindowMillis How long to wait for more changes before writing, or 0 to write every change at once
+     */
+    public Storage(String filePath, long flushWindowMillis) {
         this.filePath = filePath;
+        this.snapshotPath = Path.of(filePath);
+        this.pendingSnapshotPath = Path.of(filePath + ".tmp");
+        this.journal = new Journal(snapshotPath);
+        this.scheduler = new PersistenceScheduler(journal, flushWindowMillis);
+        this.isBinary = filePath.endsWith(BINARY_EXTENSION);
+        this.isCompressed = filePath.endsWith(COMPRESSED_EXTENSION);
     }
 
     /**
-     * Loads task list from memory.
+     * Loads task list from memory. Reads the snapshot, then replays the journal on top of it.
      *
      * @return List of tasks
      * @throws MaxException If file input cannot be interpreted
      */
-    public ArrayList<Task> load() throws MaxException {
-        ArrayList<Task> tasks = new ArrayList<>();
-        try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                loadTask(line, tasks);
+    public List<Task> load() throws MaxException {
+        List<Task> tasks = new TombstoneList<>();
+        try {
+            recoverSnapshot();
+            if (!Files.exists(snapshotPath) && !journal.exists()) {
+                throw new MaxException("There are no tasks!");
+            }
+            if (Files.exists(snapshotPath) && isBinary) {
+                tasks = loadBinarySnapshot();
+                snapshotSize = Files.size(snapshotPath);
+            } else if (Files.exists(snapshotPath) && isCompressed) {
+                tasks = loadCompressedSnapshot();
+                snapshotSize = Files.size(snapshotPath);
+            } else if (Files.exists(snapshotPath)) {
+                tasks = loadTextSnapshot();
+                snapshotSize = Files.size(snapshotPath);
+            }
+            journal.replay(tasks, this);
+            if (journal.size() > 0) {
+                // Journalled changes would be replayed over any in-place update, so keep journalling
+                mappedSnapshot = null;
             }
         } catch (IOException e) {
             e.printStackTrace();
@@ -50,6 +141,153 @@ public class Storage {
         return tasks;
     }
 
+    /**
+     * Reads the text snapshot and splits it into lines in parallel, leaving each task to be decoded on first access.
+     * Every line is checked to hold a valid task here, so that a corrupted file is reported on load
+     * rather than partway through a later command.
+     */
+    private List<Task> loadTextSnapshot() throws IOException, MaxException {
+        // Read into memory rather than mapped, since some platforms cannot replace a file while it is mapped
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(snapshotPath));
+        int end = verifyChecksum(buffer);
+        int start = hasFormatHeader(buffer) ? FORMAT_HEADER.length() : 0;
+        ByteBuffer taskLines = buffer.duplicate().position(start).slice();
+        return decodeLazily(ChunkedLineReader.readLines(taskLines, end - start));
+    }
+
+    /**
+     * Returns a list that decodes each of the given lines when it is first accessed.
+     * The lines must already have been checked with {@link TextTaskCodec#isValid(String)}.
+     */
+    private List<Task> decodeLazily(List<String> lines) {
+        return new LazyTaskList<String>(lines, line -> {
+            try {
+                return parseTask(line);
+            } catch (MaxException e) {
+                // Lines are validated on load, so this means the codec and its validation disagree
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * Decompresses the text snapshot block by block as it is read, so neither the compressed file nor
+     * the decompressed text is ever held in memory whole. The task lines themselves are kept as strings
+     * to be decoded on first access, as they are for a plain text snapshot.
+     * Compressed snapshots were always written with a checksum line, so one is required and verified here.
+     */
+    private List<Task> loadCompressedSnapshot() throws IOException, MaxException {
+        List<String> lines = new ArrayList<>();
+        CRC32 crc = new CRC32();
+        String checksumLine = null;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new GZIPInputStream(
+                Files.newInputStream(snapshotPath), COMPRESSION_BUFFER_SIZE), StandardCharsets.UTF_8))) {
+            String line;
+            boolean isFirstLine = true;
+            while ((line = reader.readLine()) != null) {
+                if (isFirstLine && line.equals(FORMAT_HEADER.trim())) {
+                    isFirstLine = false;
+                    crc.update(FORMAT_HEADER.getBytes(StandardCharsets.US_ASCII));
+                    continue;
+                }
+                isFirstLine = false;
+                if (checksumLine != null) {
+                    // Nothing may follow the checksum line
+                    throw new MaxException("Hey! Your storage file is corrupted.");
+                }
+                if (line.startsWith(CHECKSUM_PREFIX)) {
+                    checksumLine = line + "\n";
+                    continue;
+                }
+                if (!TEXT_CODEC.isValid(line)) {
+                    throw new MaxException("Hey! Your storage file is corrupted.");
+                }
+                crc.update(line.getBytes(StandardCharsets.UTF_8));
+                crc.update('\n');
+                lines.add(line);
+            }
+        } catch (ZipException | EOFException e) {
+            throw new MaxException("Hey! Your storage file is corrupted.");
+        }
+        if (!String.format(CHECKSUM_FORMAT, crc.getValue()).equals(checksumLine)) {
+            throw new MaxException("Hey! Your storage file is corrupted.");
+        }
+        return decodeLazily(lines);
+    }
+
+    /**
+     * Checks the checksum line at the end of a text snapshot against the lines before it.
+     * A snapshot starting with the format header must end with a checksum line, so that one cut short
+     * at a line boundary is still caught. Snapshots written before the header was added are accepted
+     * without a checksum line, and the oldest of them have none.
+     *
+     * @return Number of bytes up to the checksum line
+     */
+    private static int verifyChecksum(ByteBuffer buffer) throws MaxException {
+        int start = buffer.limit() - CHECKSUM_LENGTH;
+        // Task lines never start with '#', so such a last line can only be a checksum
+        boolean isLineStart = start == 0 || start > 0 && buffer.get(start - 1) == '\n';
+        if (!isLineStart || buffer.get(start) != CHECKSUM_FORMAT.charAt(0)) {
+            if (hasFormatHeader(buffer)) {
+                throw new MaxException("Hey! Your storage file is corrupted.");
+            }
+            return buffer.limit();
+        }
+        byte[] bytes = new byte[CHECKSUM_LENGTH];
+        buffer.duplicate().position(start).get(bytes);
+        String line = new String(bytes, StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().position(0).limit(start));
+        if (!line.equals(String.format(CHECKSUM_FORMAT, crc.getValue()))) {
+            throw new MaxException("Hey! Your storage file is corrupted.");
+        }
+        return start;
+    }
+
+    private static boolean hasFormatHeader(ByteBuffer buffer) {
+        if (buffer.limit() < FORMAT_HEADER.length()) {
+            return false;
+        }
+        for (int i = 0; i < FORMAT_HEADER.length(); i++) {
+            if (buffer.get(i) != FORMAT_HEADER.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Maps the binary snapshot, leaving each task to be decoded from the mapping on first access.
+     * Every record has already been checked to hold a valid task when the file was opened.
+     */
+    private List<Task> loadBinarySnapshot() throws IOException, MaxException {
+        MappedTaskFile snapshot = MappedTaskFile.open(snapshotPath);
+        mappedSnapshot = snapshot;
+        return new RecordTaskList(snapshot.size(), record -> {
+            try {
+                return snapshot.get(record);
+            } catch (MaxException e) {
+                // Records are validated when the file is opened, so this means the codec and its validation disagree
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * Finishes or discards a snapshot that was interrupted by a crash.
+     * A pending snapshot is only complete once the rotated journal it replaces has been deleted.
+     */
+    private void recoverSnapshot() throws IOException {
+        if (!Files.exists(pendingSnapshotPath)) {
+            return;
+        }
+        if (journal.hasRotated()) {
+            Files.delete(pendingSnapshotPath);
+        } else {
+            promotePendingSnapshot();
+        }
+    }
+
     /**
      * Reads file input and adds task to task list.
      *
@@ -57,63 +295,347 @@ public class Storage {
      * @param tasks Task list
      * @throws MaxException If String representation of task is invalid
      */
-    public void loadTask(String task, ArrayList<Task> tasks) throws MaxException {
-        String type = task.substring(0, 1).trim(); // T, D, E
-        boolean isDone = task.substring(3, 5).trim().equals("1");
-
-        switch (type) {
-        case "T":
-            String description = task.substring(7).trim();
-            tasks.add(new Todo(description, isDone));
-            break;
-        case "D": {
-            int byIndex = task.indexOf("by:");
-            String item = task.substring(7, byIndex).trim();
-            String by = task.substring(byIndex + 3).trim();
-            LocalDate byDate = LocalDate.parse(by);
-            tasks.add(new Deadline(item, byDate, isDone));
-            break;
-        }
-        case "E": {
-            int fromIndex = task.indexOf("from:");
-            int toIndex = task.indexOf("to:");
-            String item = task.substring(7, fromIndex - 1).trim();
-            String from = task.substring(fromIndex + 5, toIndex - 1).trim();
-            String to = task.substring(toIndex + 3).trim();
-            LocalDate fromDate = LocalDate.parse(from);
-            LocalDate toDate = LocalDate.parse(to);
-            tasks.add(new Event(item, fromDate, toDate, isDone));
-            break;
-        }
-        default:
-            throw new MaxException("Hey! Your storage file is corrupted.");
+    public void loadTask(String task, List<Task> tasks) throws MaxException {
+        tasks.add(parseTask(task));
+    }
+
+    /**
+     * Decodes a task from its string representation in memory.
+     *
+     * @param task String representation of task stored in memory
+     * @return Decoded task
+     * @throws MaxException If String representation of task is invalid
+     */
+    public Task parseTask(String task) throws MaxException {
+        return TEXT_CODEC.decode(task);
+    }
+
+    /**
+     * Saves a newly added task.
+     *
+     * @param task Task that was added
+     * @param tasks Task list after the change
+     * @throws MaxException If the change cannot be saved
+     */
+    public void recordAdd(Task task, TaskList tasks) throws MaxException {
+        try {
+            journal.appendAdd(task);
+            if (!isDeferred) {
+                scheduler.requestFlush();
+            }
+        } catch (IOException e) {
+            throw new MaxException("Uh oh, I cannot save your file!");
         }
+        compactIfNeeded(tasks);
     }
 
     /**
-     * Saves task list to memory. Creates file if one does not exist.
+     * Saves the deletion of a task.
      *
-     * @param tasks List of tasks
+     * @param taskNumber Task number of deleted task
+     * @param tasks Task list after the change
+     * @throws MaxException If the change cannot be saved
      */
-    public void writeToFile(TaskList tasks) throws MaxException {
-        // Save the task list to the system upon change
-        File file = new File("./data/max.txt");
-        File dataDirectory = new File("./data/");
+    public void recordDelete(int taskNumber, TaskList tasks) throws MaxException {
+        try {
+            journal.appendDelete(taskNumber);
+            if (!isDeferred) {
+                scheduler.requestFlush();
+            }
+        } catch (IOException e) {
+            throw new MaxException("Uh oh, I cannot save your file!");
+        }
+        compactIfNeeded(tasks);
+    }
 
-        // Handle case where the data file doesn't exist at the start
-        if (!dataDirectory.exists()) {
-            dataDirectory.mkdirs(); // Create the directory if it doesn't exist
+    /**
+     * Saves that a task was marked as done.
+     *
+     * @param taskNumber Task number of marked task
+     * @param tasks Task list after the change
+     * @throws MaxException If the change cannot be saved
+     */
+    public void recordMark(int taskNumber, TaskList tasks) throws MaxException {
+        if (canUpdateInPlace(taskNumber)) {
+            mappedSnapshot.setDone(taskNumber - 1, true);
+            return;
+        }
+        try {
+            journal.appendMark(taskNumber);
+            if (!isDeferred) {
+                scheduler.requestFlush();
+            }
+        } catch (IOException e) {
+            throw new MaxException("Uh oh, I cannot save your file!");
         }
+        compactIfNeeded(tasks);
+    }
 
+    /**
+     * Saves that a task was unmarked.
+     *
+     * @param taskNumber Task number of unmarked task
+     * @param tasks Task list after the change
+     * @throws MaxException If the change cannot be saved
+     */
+    public void recordUnmark(int taskNumber, TaskList tasks) throws MaxException {
+        if (canUpdateInPlace(taskNumber)) {
+            mappedSnapshot.setDone(taskNumber - 1, false);
+            return;
+        }
         try {
-            FileWriter fileWriter = new FileWriter(file);
-            BufferedWriter bufferedWriter = new BufferedWriter(fileWriter);
-            // Write tasks to file
-            for (int i = 0; i < tasks.getList().size(); i++) {
-                bufferedWriter.write(tasks.getList().get(i).saveItem());
-            }
-            // Close the writer
-            bufferedWriter.close();
+            journal.appendUnmark(taskNumber);
+            if (!isDeferred) {
+                scheduler.requestFlush();
+            }
+        } catch (IOException e) {
+            throw new MaxException("Uh oh, I cannot save your file!");
+        }
+        compactIfNeeded(tasks);
+    }
+
+    /**
+     * Sets whether saved changes are held in memory until {@link #flush()} is called,
+     * instead of being written out when the flush window ends. Used when running many commands in a row.
+     *
+     * @param isDeferred True to hold changes until flushed, false to write each change immediately
+     * @throws MaxException If held changes cannot be written when turning deferral off
+     */
+    public void setDeferred(boolean isDeferred) throws MaxException {
+        this.isDeferred = isDeferred;
+        if (!isDeferred) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes any changes that are not yet on disk, without waiting for the flush window to end,
+     * and waits until they are stored durably.
+     *
+     * @throws MaxException If the changes cannot be saved
+     */
+    public void flush() throws MaxException {
+        try {
+            scheduler.flushNow();
+        } catch (IOException e) {
+            throw new MaxException("Uh oh, I cannot save your file!");
+        }
+    }
+
+    /**
+     * Checks if anything has been saved at this location yet.
+     *
+     * @return True if a snapshot or journal exists, false otherwise
+     */
+    public boolean exists() {
+        return Files.exists(snapshotPath) || Files.exists(pendingSnapshotPath) || journal.exists();
+    }
+
+    /**
+     * Renames every file stored at this location, so that a list which failed to load is kept for recovery
+     * instead of being overwritten by the next save.
+     *
+     * @return Suffix added to the name of each file
+     * @throws MaxException If a file cannot be renamed
+     */
+    public String moveAside() throws MaxException {
+        awaitCompaction();
+        releaseMappedSnapshot();
+        String suffix = CORRUPTED_SUFFIX + System.currentTimeMillis();
+        try {
+            for (Path path : new Path[] {snapshotPath, pendingSnapshotPath}) {
+                if (Files.exists(path)) {
+                    Files.move(path, Path.of(path + suffix));
+                }
+            }
+            journal.moveAside(suffix);
+        } catch (IOException e) {
+            throw new MaxException("Uh oh, I cannot move your corrupted file aside!");
+        }
+        snapshotSize = 0;
+        return suffix;
+    }
+
+    /**
+     * Writes out all pending changes and releases the files, once the task list is no longer in use.
+     * The storage can still be used afterwards, and reopens its files when needed.
+     *
+     * @throws MaxException If the changes cannot be saved
+     */
+    public void close() throws MaxException {
+        awaitCompaction();
+        releaseMappedSnapshot();
+        try {
+            scheduler.flushNow();
+            journal.close();
+        } catch (IOException e) {
+            throw new MaxException("Uh oh, I cannot save your file!");
+        }
+    }
+
+    /**
+     * Checks if a task's done status can be flipped directly in the mapped binary snapshot.
+     * Tasks added since the snapshot only append to the list, but a deletion shifts task numbers
+     * away from snapshot positions, so updates are journalled from then on.
+     */
+    private boolean canUpdateInPlace(int taskNumber) {
+        return mappedSnapshot != null && !journal.hasDeletes() && taskNumber <= mappedSnapshot.size();
+    }
+
+    private void releaseMappedSnapshot() {
+        if (mappedSnapshot != null) {
+            mappedSnapshot.force();
+            mappedSnapshot = null;
+        }
+    }
+
+    /**
+     * Folds the journal into a fresh snapshot in the background once the journal has grown
+     * larger than the snapshot it would replace.
+     */
+    private void compactIfNeeded(TaskList tasks) throws MaxException {
+        boolean isCompacting = pendingCompaction != null && !pendingCompaction.isDone();
+        if (isCompacting || journal.size() < Math.max(COMPACTION_THRESHOLD, snapshotSize)) {
+            return;
+        }
+        releaseMappedSnapshot();
+        try {
+            journal.rotate();
+        } catch (IOException e) {
+            throw new MaxException("Uh oh, I cannot save your file!");
+        }
+        // Only the references are copied here; the tasks are written out on the compactor thread
+        List<Task> copy = tasks.snapshot();
+        pendingCompaction = COMPACTOR.submit(() -> {
+            try {
+                writeSnapshot(copy);
+            } catch (IOException e) {
+                // The rotated journal is kept, so no changes are lost
+                e.printStackTrace();
+            }
+        });
+    }
+
+    private void awaitCompaction() {
+        if (pendingCompaction == null) {
+            return;
+        }
+        try {
+            pendingCompaction.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            e.printStackTrace();
+        }
+        pendingCompaction = null;
+    }
+
+    /**
+     * Writes the snapshot to a temporary file, then replaces the old snapshot and rotated journal with it.
+     */
+    private void writeSnapshot(List<Task> tasks) throws IOException {
+        if (snapshotPath.getParent() != null) {
+            Files.createDirectories(snapshotPath.getParent());
+        }
+        if (isBinary) {
+            MappedTaskFile.write(pendingSnapshotPath, tasks);
+        } else {
+            writeTextSnapshot(tasks);
+        }
+        journal.deleteRotated();
+        promotePendingSnapshot();
+        snapshotSize = Files.size(snapshotPath);
+    }
+
+    /**
+     * Writes the text snapshot to the temporary file, starting with the format header and ending with a checksum,
+     * and forces it to disk so that it is complete before it replaces the old snapshot.
+     * A compressed snapshot holds the same text, so it can also be read after decompressing it with gunzip.
+     */
+    private void writeTextSnapshot(List<Task> tasks) throws IOException {
+        CRC32 crc = new CRC32();
+        try (FileChannel channel = FileChannel.open(pendingSnapshotPath, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                OutputStream fileOut = Channels.newOutputStream(channel);
+                FastGzipOutputStream compressedOut = isCompressed ? new FastGzipOutputStream(fileOut) : null) {
+            OutputStream out = compressedOut != null ? compressedOut : fileOut;
+            BufferedWriter bufferedWriter = new BufferedWriter(new OutputStreamWriter(
+                    new CheckedOutputStream(out, crc), StandardCharsets.UTF_8));
+            bufferedWriter.write(FORMAT_HEADER);
+            for (int i = 0; i < tasks.size(); i++) {
+                bufferedWriter.write(saveItem(tasks, i));
+            }
+            bufferedWriter.flush();
+            bufferedWriter.write(String.format(CHECKSUM_FORMAT, crc.getValue()));
+            bufferedWriter.flush();
+            if (compressedOut != null) {
+                // Writes the last block and the trailer now, since closing would also close the channel
+                compressedOut.finish();
+            }
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Gzip stream compressing at the fastest level, which still packs the repetitive task lines about 4x
+     * at a quarter of the default cost. Closing it also releases its deflater.
+     */
+    private static class FastGzipOutputStream extends GZIPOutputStream {
+        FastGzipOutputStream(OutputStream out) throws IOException {
+            super(out, COMPRESSION_BUFFER_SIZE);
+            def.setLevel(Deflater.BEST_SPEED);
+        }
+    }
+
+    /**
+     * Replaces the snapshot with the pending one in a single step, so that a crash leaves
+     * either the old snapshot or the new one, never a partly written file.
+     */
+    private void promotePendingSnapshot() throws IOException {
+        try {
+            Files.move(pendingSnapshotPath, snapshotPath, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(pendingSnapshotPath, snapshotPath, StandardCopyOption.REPLACE_EXISTING);
+        }
+        Path directory = snapshotPath.toAbsolutePath().getParent();
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            // Persists the rename itself; not every platform can open a directory, so this is best effort
+            channel.force(true);
+        } catch (IOException e) {
+            // The rename is still carried out, only its durability is left to the file system
+        }
+    }
+
+    /**
+     * Returns the text representation of a task, reusing the loaded line if the task was never decoded.
+     */
+    private String saveItem(List<Task> tasks, int index) {
+        if (tasks instanceof LazyTaskList && ((LazyTaskList<?>) tasks).getRaw(index) instanceof String) {
+            return ((LazyTaskList<?>) tasks).getRaw(index) + "\n";
+        }
+        return TEXT_CODEC.encodeLine(tasks.get(index)) + "\n";
+    }
+
+    /**
+     * Saves task list to memory as a fresh snapshot and clears the journal.
+     * Creates file if one does not exist.
+     *
+     * @param tasks List of tasks
+     */
+    public void writeToFile(TaskList tasks) throws MaxException {
+        awaitCompaction();
+        releaseMappedSnapshot();
+        try {
+            List<Task> copy;
+            // Writers wait only while the journal is rotated and the references copied, not for the write itself.
+            // Rotating and copying together keeps the snapshot and the new journal from both holding a change.
+            synchronized (tasks) {
+                scheduler.flushNow();
+                journal.rotate();
+                copy = tasks.snapshot();
+            }
+            writeSnapshot(copy);
         } catch (IOException e) {
             throw new MaxException("Uh oh, I cannot save your file!");
         }
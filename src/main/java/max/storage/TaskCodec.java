@@ -0,0 +1,33 @@
+package max.storage;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import max.exception.MaxException;
+import max.tasks.Task;
+
+/**
+ * Format that tasks are stored in, one record per task.
+ * Records are written to a stream and read back from a buffer, so a file of records can be read
+ * sequentially or, given the offset of each record, in any order.
+ */
+public interface TaskCodec {
+    /**
+     * Writes a task as a single record.
+     *
+     * @param task Task to be written
+     * @param out Stream the record is written to
+     * @throws IOException If the record cannot be written
+     */
+    void encode(Task task, DataOutputStream out) throws IOException;
+
+    /**
+     * Reads the record at the buffer's position and moves the position past it.
+     *
+     * @param in Buffer holding the record
+     * @return Decoded task
+     * @throws MaxException If the record is invalid
+     */
+    Task decode(ByteBuffer in) throws MaxException;
+}
@@ -0,0 +1,369 @@
+package max.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import max.exception.InvalidArgumentException;
+import max.exception.MaxException;
+import max.tasks.ColumnarTaskList;
+import max.tasks.ConcurrentTaskList;
+import max.tasks.Task;
+import max.tasks.TaskList;
+import max.tasks.TombstoneList;
+
+/**
+ * Named task lists, each saved in its own file in one directory.
+ * A list is only loaded when it is first used. Once more lists are open than the registry holds,
+ * the least recently used ones are saved and dropped from memory, and loaded again when next used.
+ * The registry is synchronized, so that open lists can be flushed from a shutdown hook.
+ * <p>
+ * A session made by {@link #newSession()} shares the open lists and settings of the registry it was made from,
+ * but has its own current list, so that several users can each work on a different list at the same time.
+ * A list that is current in any session is never dropped from memory.
+ */
+public class TaskListRegistry {
+    public static final String DEFAULT_NAME = "max";
+    public static final int DEFAULT_CAPACITY = 16;
+    private static final Pattern VALID_NAME = Pattern.compile("[A-Za-z0-9_-]+");
+
+    private final Path directory;
+    private final String extension;
+    private final int capacity;
+    // Iterates from least to most recently used; shared by every session of the registry
+    private final LinkedHashMap<String, Entry> openLists;
+    // Registry whose open lists and settings this one uses, and whose lock guards them; itself if not a session
+    private final TaskListRegistry root;
+    private Entry current;
+    private boolean isDeferred = false;
+    private boolean isCompact = false;
+    private boolean isConcurrent = false;
+
+    /**
+     * Initialises a registry of lists stored in the given directory.
+     *
+     * @param directory Directory holding one file per list
+     * @param extension File extension of list files, such as ".txt" or ".bin"
+     * @param capacity Number of lists kept in memory at once, at least 1
+     */
+    public TaskListRegistry(Path directory, String extension, int capacity) {
+        assert capacity >= 1 : "Registry should hold at least the current list";
+        this.directory = directory;
+        this.extension = extension;
+        this.capacity = capacity;
+        this.openLists = new LinkedHashMap<>(16, 0.75f, true);
+        this.root = this;
+    }
+
+    private TaskListRegistry(TaskListRegistry root) {
+        this.directory = root.directory;
+        this.extension = root.extension;
+        this.capacity = root.capacity;
+        this.openLists = root.openLists;
+        this.root = root;
+    }
+
+    /**
+     * Initialises a registry whose lists are stored next to the given file, in the same format.
+     *
+     * @param filePath File location of a stored task list, such as "./data/max.txt"
+     * @return Registry of lists in the same directory
+     */
+    public static TaskListRegistry forFile(String filePath) {
+        Path path = Path.of(filePath);
+        String fileName = path.getFileName().toString();
+        int dotIndex = getExtensionStart(fileName);
+        String extension = dotIndex == -1 ? "" : fileName.substring(dotIndex);
+        Path directory = path.getParent() == null ? Path.of(".") : path.getParent();
+        return new TaskListRegistry(directory, extension, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Returns the name a list is stored under, given the path of its file.
+     *
+     * @param filePath File location of a stored task list
+     * @return Name of the list
+     */
+    public static String getName(String filePath) {
+        String fileName = Path.of(filePath).getFileName().toString();
+        int dotIndex = getExtensionStart(fileName);
+        return dotIndex == -1 ? fileName : fileName.substring(0, dotIndex);
+    }
+
+    /**
+     * Returns the index of the dot that starts a file's extension, or -1 if it has none.
+     * Compressed files keep the extension of the format they compress, as in "max.txt.gz".
+     */
+    private static int getExtensionStart(String fileName) {
+        int dotIndex = fileName.lastIndexOf('.');
+        if (fileName.endsWith(".gz") && dotIndex > 0) {
+            int formatDotIndex = fileName.lastIndexOf('.', dotIndex - 1);
+            return formatDotIndex == -1 ? dotIndex : formatDotIndex;
+        }
+        return dotIndex;
+    }
+
+    public Entry getCurrent() {
+        synchronized (root) {
+            return current;
+        }
+    }
+
+    /**
+     * Returns a session that starts on this registry's current list and can then switch lists on its own.
+     * The session should be closed once it is no longer used, so that its current list can be dropped again.
+     *
+     * @return New session of the same lists
+     */
+    public TaskListRegistry newSession() {
+        synchronized (root) {
+            TaskListRegistry session = new TaskListRegistry(root);
+            if (current != null) {
+                session.setCurrent(current);
+            }
+            return session;
+        }
+    }
+
+    /**
+     * Releases this session's current list, so that it can be dropped from memory once it is idle.
+     */
+    public void closeSession() {
+        synchronized (root) {
+            if (current != null) {
+                current.sessionCount--;
+                current = null;
+            }
+        }
+    }
+
+    private void setCurrent(Entry entry) {
+        if (current != null) {
+            current.sessionCount--;
+        }
+        entry.sessionCount++;
+        current = entry;
+    }
+
+    /**
+     * Makes the named list the current one, loading it if it is not open.
+     * A list that has never been saved starts out empty.
+     *
+     * @param name Name of list
+     * @return The list, now current
+     * @throws MaxException If the name is invalid or the list cannot be loaded
+     */
+    public Entry use(String name) throws MaxException {
+        synchronized (root) {
+            setCurrent(open(name));
+            evictIdle();
+            return current;
+        }
+    }
+
+    /**
+     * Makes a new, empty list with the given name the current one, replacing any open list of that name.
+     * Used when a stored list cannot be loaded. Its files are first renamed with a ".corrupted-" suffix,
+     * so that saving the new list never overwrites them.
+     *
+     * @param name Name of list
+     * @return The list, now current
+     * @throws MaxException If the stored files cannot be moved aside, in which case no list is opened
+     */
+    public Entry useEmpty(String name) throws MaxException {
+        synchronized (root) {
+            Storage storage = createStorage(name);
+            if (storage.exists()) {
+                storage.moveAside();
+            }
+            Entry entry = new Entry(name, storage, createTaskList(new TombstoneList<>()));
+            openLists.put(name, entry);
+            setCurrent(entry);
+            return current;
+        }
+    }
+
+    private Entry open(String name) throws MaxException {
+        checkName(name);
+        Entry entry = openLists.get(name);
+        if (entry != null) {
+            return entry;
+        }
+        Storage storage = createStorage(name);
+        TaskList tasks = createTaskList(storage.exists() ? storage.load() : new TombstoneList<>());
+        entry = new Entry(name, storage, tasks);
+        openLists.put(name, entry);
+        return entry;
+    }
+
+    private TaskList createTaskList(List<Task> loaded) {
+        List<Task> tasks = root.isCompact ? new ColumnarTaskList(loaded) : loaded;
+        return root.isConcurrent ? new ConcurrentTaskList(tasks) : new TaskList(tasks);
+    }
+
+    private Storage createStorage(String name) throws MaxException {
+        Storage storage = new Storage(directory.resolve(name + extension).toString());
+        storage.setDeferred(root.isDeferred);
+        return storage;
+    }
+
+    private static void checkName(String name) throws MaxException {
+        if (!VALID_NAME.matcher(name).matches()) {
+            throw new InvalidArgumentException("List names can only have letters, digits, '-' and '_'.");
+        }
+    }
+
+    /**
+     * Saves and drops the least recently used lists until no more than the capacity are open.
+     * Lists that are current in any session are always kept.
+     */
+    private void evictIdle() throws MaxException {
+        Iterator<Entry> iterator = openLists.values().iterator();
+        while (openLists.size() > capacity && iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.sessionCount == 0) {
+                entry.getStorage().close();
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Checks if the named list is currently held in memory.
+     *
+     * @param name Name of list
+     * @return True if the list is open, false otherwise
+     */
+    public boolean isOpen(String name) {
+        synchronized (root) {
+            return openLists.containsKey(name);
+        }
+    }
+
+    /**
+     * Returns the names of all saved and open lists, in alphabetical order.
+     *
+     * @return Names of lists
+     * @throws MaxException If the directory cannot be read
+     */
+    public List<String> getNames() throws MaxException {
+        TreeSet<String> names;
+        synchronized (root) {
+            names = new TreeSet<>(openLists.keySet());
+        }
+        if (Files.isDirectory(directory)) {
+            try (Stream<Path> files = Files.list(directory)) {
+                // A list that has only been changed since it was last saved in full has just a journal
+                files.map(file -> file.getFileName().toString().replaceFirst("\\.log(\\.1)?$", ""))
+                        .filter(fileName -> fileName.endsWith(extension))
+                        .map(fileName -> fileName.substring(0, fileName.length() - extension.length()))
+                        .filter(name -> VALID_NAME.matcher(name).matches())
+                        .forEach(names::add);
+            } catch (IOException e) {
+                throw new MaxException("Hmm... I cannot read your lists.");
+            }
+        }
+        return new ArrayList<>(names);
+    }
+
+    /**
+     * Sets whether lists opened from now on are held in the compact columnar form.
+     * This trades slower reads of single tasks for much less memory per task.
+     *
+     * @param isCompact True to hold lists as a {@link ColumnarTaskList}, false to hold them as task objects
+     */
+    public void setCompact(boolean isCompact) {
+        synchronized (root) {
+            root.isCompact = isCompact;
+        }
+    }
+
+    /**
+     * Sets whether lists opened from now on can be used by several threads at once.
+     *
+     * @param isConcurrent True to hold lists as a {@link ConcurrentTaskList}, false otherwise
+     */
+    public void setConcurrent(boolean isConcurrent) {
+        synchronized (root) {
+            root.isConcurrent = isConcurrent;
+        }
+    }
+
+    /**
+     * Sets whether changes to every list are held in memory until flushed.
+     *
+     * @param isDeferred True to hold changes until flushed, false to write them as usual
+     * @throws MaxException If held changes cannot be written when turning deferral off
+     * @see Storage#setDeferred(boolean)
+     */
+    public void setDeferred(boolean isDeferred) throws MaxException {
+        synchronized (root) {
+            root.isDeferred = isDeferred;
+            for (Entry entry : openLists.values()) {
+                entry.getStorage().setDeferred(isDeferred);
+            }
+        }
+    }
+
+    /**
+     * Writes pending changes to every open list to disk.
+     *
+     * @throws MaxException If the changes cannot be saved
+     */
+    public void flush() throws MaxException {
+        synchronized (root) {
+            for (Entry entry : openLists.values()) {
+                entry.getStorage().flush();
+            }
+        }
+    }
+
+    /**
+     * Saves every open list as a fresh snapshot.
+     *
+     * @throws MaxException If a list cannot be saved
+     */
+    public void saveAll() throws MaxException {
+        synchronized (root) {
+            for (Entry entry : openLists.values()) {
+                entry.getStorage().writeToFile(entry.getTasks());
+            }
+        }
+    }
+
+    /**
+     * A named task list together with the storage it is saved to.
+     */
+    public static class Entry {
+        private final String name;
+        private final Storage storage;
+        private final TaskList tasks;
+        // Number of sessions this list is current in; guarded by the registry
+        private int sessionCount;
+
+        private Entry(String name, Storage storage, TaskList tasks) {
+            this.name = name;
+            this.storage = storage;
+            this.tasks = tasks;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Storage getStorage() {
+            return storage;
+        }
+
+        public TaskList getTasks() {
+            return tasks;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package max.storage;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
+import java.time.format.DateTimeParseException;
+
+import max.exception.MaxException;
+import max.tasks.Deadline;
+import max.tasks.DescriptionPool;
+import max.tasks.Event;
+import max.tasks.Task;
+import max.tasks.Todo;
+
+/**
+ * Human-readable format of text snapshots and journal records, one task per line,
+ * such as "D | 0 | return book by: 2023-09-30".
+ * Dates are always last on the line, so they are found from the end and a description
+ * may itself contain "by:", "from:" or "to:".
+ */
+public class TextTaskCodec implements TaskCodec {
+    private static final String CORRUPTED = "Hey! Your storage file is corrupted.";
+    // Length of the "T | 0 |" prefix; the description follows after a space
+    private static final int ITEM_START = 7;
+
+    private final DescriptionPool descriptions = DescriptionPool.getShared();
+
+    @Override
+    public void encode(Task task, DataOutputStream out) throws IOException {
+        out.write(task.saveItem().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns a task as a line, without the line break.
+     *
+     * @param task Task to be encoded
+     * @return Line holding the task
+     */
+    public String encodeLine(Task task) {
+        String line = task.saveItem();
+        return line.substring(0, line.length() - 1);
+    }
+
+    @Override
+    public Task decode(ByteBuffer in) throws MaxException {
+        int start = in.position();
+        int end = start;
+        while (end < in.limit() && in.get(end) != '\n') {
+            end++;
+        }
+        // Lines edited on Windows may end with "\r\n"
+        int textEnd = end > start && in.get(end - 1) == '\r' ? end - 1 : end;
+        byte[] bytes = new byte[textEnd - start];
+        in.get(bytes);
+        in.position(Math.min(end + 1, in.limit()));
+        return decode(new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a task from a line, without its line break.
+     *
+     * @param line Line holding the task
+     * @return Decoded task
+     * @throws MaxException If the line does not hold a valid task
+     */
+    public Task decode(String line) throws MaxException {
+        if (line.length() < ITEM_START || line.charAt(2) != '|' || line.charAt(6) != '|') {
+            throw new MaxException(CORRUPTED);
+        }
+        boolean isDone = line.charAt(4) == '1';
+        try {
+            switch (line.charAt(0)) {
+            case 'T':
+                return new Todo(descriptions.intern(line.substring(ITEM_START).trim()), isDone);
+            case 'D': {
+                int byIndex = line.lastIndexOf("by:");
+                String item = descriptions.intern(line.substring(ITEM_START, byIndex).trim());
+                LocalDate byDate = LocalDate.parse(line.substring(byIndex + 3).trim());
+                return new Deadline(item, byDate, isDone);
+            }
+            case 'E': {
+                int toIndex = line.lastIndexOf("to:");
+                int fromIndex = line.lastIndexOf("from:", toIndex);
+                String item = descriptions.intern(line.substring(ITEM_START, fromIndex).trim());
+                LocalDate fromDate = LocalDate.parse(line.substring(fromIndex + 5, toIndex).trim());
+                LocalDate toDate = LocalDate.parse(line.substring(toIndex + 3).trim());
+                return new Event(item, fromDate, toDate, isDone);
+            }
+            default:
+                throw new MaxException(CORRUPTED);
+            }
+        } catch (IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new MaxException(CORRUPTED);
+        }
+    }
+
+    /**
+     * Checks that a line, without its line break, would decode to a task, without decoding it.
+     * Accepts exactly the lines that {@link #decode(String)} accepts, so that a corrupted file can be
+     * reported on load even though its tasks are only decoded when first used.
+     *
+     * @param line Line holding a task
+     * @return True if the line holds a valid task, false otherwise
+     */
+    public boolean isValid(String line) {
+        if (line.length() < ITEM_START || line.charAt(2) != '|' || line.charAt(6) != '|') {
+            return false;
+        }
+        switch (line.charAt(0)) {
+        case 'T':
+            return true;
+        case 'D': {
+            int byIndex = line.lastIndexOf("by:");
+            return byIndex >= ITEM_START && isDate(line, byIndex + 3, line.length());
+        }
+        case 'E': {
+            int toIndex = line.lastIndexOf("to:");
+            int fromIndex = toIndex == -1 ? -1 : line.lastIndexOf("from:", toIndex);
+            return fromIndex >= ITEM_START && isDate(line, fromIndex + 5, toIndex)
+                    && isDate(line, toIndex + 3, line.length());
+        }
+        default:
+            return false;
+        }
+    }
+
+    /**
+     * Checks that part of a line, once trimmed, is a date that {@link LocalDate#parse} accepts.
+     * Dates are written as yyyy-mm-dd, which is checked without allocating; any other form is parsed.
+     */
+    private static boolean isDate(String line, int start, int end) {
+        while (start < end && line.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && line.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (end - start != 10 || line.charAt(start + 4) != '-' || line.charAt(start + 7) != '-') {
+            try {
+                LocalDate.parse(line.substring(start, end));
+                return true;
+            } catch (DateTimeParseException e) {
+                return false;
+            }
+        }
+        int year = readDigits(line, start, start + 4);
+        int month = readDigits(line, start + 5, start + 7);
+        int day = readDigits(line, start + 8, start + 10);
+        return year >= 0 && month >= 1 && month <= 12 && day >= 1
+                && day <= Month.of(month).length(Year.isLeap(year));
+    }
+
+    /**
+     * Returns the number written in decimal digits between the given indices, or -1 if any character is not a digit.
+     */
+    private static int readDigits(String line, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = line.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + c - '0';
+        }
+        return value;
+    }
+}
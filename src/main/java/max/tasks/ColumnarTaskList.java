@@ -0,0 +1,329 @@
+package max.tasks;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Compact list of tasks stored column by column instead of as one object per task.
+ * Types are kept in a byte array, done flags in an array of bit words, dates as epoch days and descriptions
+ * as UTF-8 bytes in one shared arena. {@link #get(int)} creates a task view on demand; views of the
+ * same slot are equal to each other, and changes to a view are kept once it is {@link #set} back.
+ * Views are not cached, so anything holding on to them, such as a built {@link WordIndex} or
+ * {@link DateIndex}, keeps one task object per task alive and gives up most of the memory saved.
+ * Removals leave a tombstone like {@link TombstoneList} does, so deleting from the front stays cheap.
+ */
+public class ColumnarTaskList extends AbstractList<Task> implements RandomAccess {
+    private static final byte TOMBSTONE = 0;
+    private static final byte TODO = 'T';
+    private static final byte DEADLINE = 'D';
+    private static final byte EVENT = 'E';
+    private static final int INITIAL_CAPACITY = 16;
+
+    private SlotIndex index = new SlotIndex(INITIAL_CAPACITY);
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    // Done flags, one bit per slot
+    private long[] done = new long[INITIAL_CAPACITY / Long.SIZE + 1];
+    private int[] startDays = new int[INITIAL_CAPACITY];
+    private int[] endDays = new int[INITIAL_CAPACITY];
+    private int[] itemOffsets = new int[INITIAL_CAPACITY];
+    private int[] itemLengths = new int[INITIAL_CAPACITY];
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private byte[] arena = new byte[INITIAL_CAPACITY * 16];
+    private int arenaSize = 0;
+    // Bytes of the arena no longer used by any task, reclaimed once they make up half of it
+    private int arenaGarbage = 0;
+
+    /**
+     * Initialises an empty list.
+     */
+    public ColumnarTaskList() {
+    }
+
+    /**
+     * Initialises a list holding the given tasks, in order.
+     *
+     * @param tasks Tasks to be stored
+     */
+    public ColumnarTaskList(List<Task> tasks) {
+        ensureCapacity(tasks.size());
+        for (Task task : tasks) {
+            add(task);
+        }
+    }
+
+    /**
+     * Returns a view of the task at the given index.
+     * Each call creates a new view, but views of the same task are equal.
+     *
+     * @param index Zero-based index of task
+     * @return Task at given index
+     */
+    @Override
+    public Task get(int index) {
+        checkIndex(index);
+        int slot = this.index.slotOf(index);
+        String item = new String(arena, itemOffsets[slot], itemLengths[slot], StandardCharsets.UTF_8);
+        boolean isDone = isDoneAt(slot);
+        Task task;
+        switch (types[slot]) {
+        case DEADLINE:
+            task = new Deadline(item, LocalDate.ofEpochDay(startDays[slot]), isDone);
+            break;
+        case EVENT:
+            task = new Event(item, LocalDate.ofEpochDay(startDays[slot]), LocalDate.ofEpochDay(endDays[slot]),
+                    isDone);
+            break;
+        default:
+            task = new Todo(item, isDone);
+        }
+        task.setId(ids[slot]);
+        return task;
+    }
+
+    /**
+     * Checks if the task at the given index is done, without creating a view of it.
+     *
+     * @param index Zero-based index of task
+     * @return True if task is done, false otherwise
+     */
+    public boolean isDone(int index) {
+        checkIndex(index);
+        return isDoneAt(this.index.slotOf(index));
+    }
+
+    @Override
+    public int size() {
+        return index.getSize();
+    }
+
+    /**
+     * Stores a task at the given index, replacing the task there.
+     * The slot keeps the id of the task it held, so a changed view written back stays equal to other views.
+     *
+     * @param index Zero-based index of task
+     * @param task Task to be stored
+     * @return Task previously at the index
+     */
+    @Override
+    public Task set(int index, Task task) {
+        Task previous = get(index);
+        int slot = this.index.slotOf(index);
+        if (!task.getItem().equals(previous.getItem())) {
+            arenaGarbage += itemLengths[slot];
+            writeItem(slot, task.getItem());
+        }
+        writeFields(slot, task);
+        task.setId(ids[slot]);
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        int slot;
+        if (index < size()) {
+            // Inserting in the middle shifts every column, as an ordinary array list would
+            compact();
+            int end = this.index.getEnd();
+            ensureCapacity(end + 1);
+            shift(index, index + 1, end - index);
+            shiftDoneUp(index, end);
+            this.index.rebuild(end + 1, s -> true);
+            slot = index;
+        } else {
+            slot = this.index.getEnd();
+            ensureCapacity(slot + 1);
+            this.index.append();
+        }
+        ids[slot] = task.getId();
+        writeItem(slot, task.getItem());
+        writeFields(slot, task);
+        modCount++;
+    }
+
+    @Override
+    public Task remove(int index) {
+        Task removed = get(index);
+        int slot = this.index.slotOf(index);
+        arenaGarbage += itemLengths[slot];
+        types[slot] = TOMBSTONE;
+        itemLengths[slot] = 0;
+        setDoneAt(slot, false);
+        this.index.remove(slot);
+        // Tombstones at the end are dropped straight away
+        int end = this.index.getEnd();
+        while (end > 0 && types[end - 1] == TOMBSTONE) {
+            end--;
+        }
+        this.index.truncate(end);
+        if (this.index.shouldCompact()) {
+            compact();
+        }
+        modCount++;
+        if (arenaGarbage > arenaSize / 2) {
+            compactArena();
+        }
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(types, 0, index.getEnd(), TOMBSTONE);
+        Arrays.fill(done, 0L);
+        index.clear();
+        arenaSize = 0;
+        arenaGarbage = 0;
+        modCount++;
+    }
+
+    /**
+     * Returns a copy of this list, holding the same tasks under the same ids.
+     *
+     * @return Copy of this list
+     */
+    public ColumnarTaskList copy() {
+        ColumnarTaskList copy = new ColumnarTaskList();
+        copy.index = new SlotIndex(index);
+        copy.types = types.clone();
+        copy.done = done.clone();
+        copy.startDays = startDays.clone();
+        copy.endDays = endDays.clone();
+        copy.itemOffsets = itemOffsets.clone();
+        copy.itemLengths = itemLengths.clone();
+        copy.ids = ids.clone();
+        copy.arena = arena.clone();
+        copy.arenaSize = arenaSize;
+        copy.arenaGarbage = arenaGarbage;
+        return copy;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+    }
+
+    private boolean isDoneAt(int slot) {
+        return (done[slot >>> 6] & (1L << slot)) != 0;
+    }
+
+    private void setDoneAt(int slot, boolean isDone) {
+        if (isDone) {
+            done[slot >>> 6] |= 1L << slot;
+        } else {
+            done[slot >>> 6] &= ~(1L << slot);
+        }
+    }
+
+    /**
+     * Moves the done flags of slots from {@code from} up to {@code end} one slot up, a word at a time.
+     * The flag at {@code from} is left as it was, to be overwritten by the inserted task.
+     */
+    private void shiftDoneUp(int from, int end) {
+        int firstWord = from >>> 6;
+        for (int w = end >>> 6; w > firstWord; w--) {
+            done[w] = (done[w] << 1) | (done[w - 1] >>> 63);
+        }
+        long below = (1L << from) - 1;
+        long word = done[firstWord];
+        done[firstWord] = (word & below) | ((word << 1) & ~below);
+    }
+
+    private void writeFields(int slot, Task task) {
+        setDoneAt(slot, task.isDone());
+        if (task instanceof Deadline) {
+            types[slot] = DEADLINE;
+            startDays[slot] = (int) ((Deadline) task).getByDate().toEpochDay();
+        } else if (task instanceof Event) {
+            types[slot] = EVENT;
+            startDays[slot] = (int) ((Event) task).getFromDate().toEpochDay();
+            endDays[slot] = (int) ((Event) task).getToDate().toEpochDay();
+        } else {
+            types[slot] = TODO;
+        }
+    }
+
+    private void writeItem(int slot, String item) {
+        byte[] bytes = item.getBytes(StandardCharsets.UTF_8);
+        if (arenaSize + bytes.length > arena.length) {
+            arena = Arrays.copyOf(arena, Math.max(arena.length * 2, arenaSize + bytes.length));
+        }
+        System.arraycopy(bytes, 0, arena, arenaSize, bytes.length);
+        itemOffsets[slot] = arenaSize;
+        itemLengths[slot] = bytes.length;
+        arenaSize += bytes.length;
+    }
+
+    /**
+     * Moves the live tasks to the front of every column, in order, and drops the tombstones.
+     */
+    private void compact() {
+        int end = index.getEnd();
+        if (end == index.getSize()) {
+            return;
+        }
+        int live = 0;
+        for (int i = 0; i < end; i++) {
+            if (types[i] == TOMBSTONE) {
+                continue;
+            }
+            shift(i, live, 1);
+            setDoneAt(live, isDoneAt(i));
+            live++;
+        }
+        Arrays.fill(types, live, end, TOMBSTONE);
+        for (int i = live; i < end; i++) {
+            setDoneAt(i, false);
+        }
+        index.rebuild(live, slot -> true);
+    }
+
+    /**
+     * Moves the descriptions still in use to the front of a new arena, in slot order.
+     * Tombstones have no description, so they take no room.
+     */
+    private void compactArena() {
+        byte[] compacted = new byte[Math.max(INITIAL_CAPACITY, arenaSize - arenaGarbage)];
+        int position = 0;
+        for (int i = 0; i < index.getEnd(); i++) {
+            System.arraycopy(arena, itemOffsets[i], compacted, position, itemLengths[i]);
+            itemOffsets[i] = position;
+            position += itemLengths[i];
+        }
+        arena = compacted;
+        arenaSize = position;
+        arenaGarbage = 0;
+    }
+
+    /**
+     * Moves a run of slots in every array column. The done flags are moved separately.
+     */
+    private void shift(int from, int to, int length) {
+        System.arraycopy(types, from, types, to, length);
+        System.arraycopy(startDays, from, startDays, to, length);
+        System.arraycopy(endDays, from, endDays, to, length);
+        System.arraycopy(itemOffsets, from, itemOffsets, to, length);
+        System.arraycopy(itemLengths, from, itemLengths, to, length);
+        System.arraycopy(ids, from, ids, to, length);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= types.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, types.length * 2);
+        types = Arrays.copyOf(types, newCapacity);
+        startDays = Arrays.copyOf(startDays, newCapacity);
+        endDays = Arrays.copyOf(endDays, newCapacity);
+        itemOffsets = Arrays.copyOf(itemOffsets, newCapacity);
+        itemLengths = Arrays.copyOf(itemLengths, newCapacity);
+        ids = Arrays.copyOf(ids, newCapacity);
+        done = Arrays.copyOf(done, newCapacity / Long.SIZE + 1);
+    }
+}
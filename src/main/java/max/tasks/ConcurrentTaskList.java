@@ -0,0 +1,89 @@
+package max.tasks;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import max.exception.MaxException;
+
+/**
+ * Task list that can be shared by several threads, such as the GUI, a batch run and socket clients.
+ * Changes and searches are made one at a time while holding the list's lock.
+ * <p>
+ * Readers that show, export or save the whole list take a {@link #snapshot()} under the lock and read it
+ * after letting go, so writers only wait for the references to be copied, never for the rendering or
+ * writing. {@link #getList()} returns the live list, which a caller holds the lock for with
+ * {@code synchronized (tasks)} while it uses it, as when a change must be saved before the next one.
+ */
+public class ConcurrentTaskList extends TaskList {
+    /**
+     * Initialises a new, empty task list.
+     */
+    public ConcurrentTaskList() {
+        super();
+    }
+
+    /**
+     * Initialises a task list from tasks loaded from storage.
+     * The given list must not be used by anything else afterwards.
+     *
+     * @param tasks Existing list of tasks
+     */
+    public ConcurrentTaskList(List<Task> tasks) {
+        super(tasks);
+    }
+
+    @Override
+    public synchronized int size() {
+        return super.size();
+    }
+
+    @Override
+    public synchronized void add(Task task) {
+        super.add(task);
+    }
+
+    @Override
+    public synchronized Task delete(int taskNumber) throws MaxException {
+        return super.delete(taskNumber);
+    }
+
+    @Override
+    public synchronized Task mark(int taskNumber) throws MaxException {
+        return super.mark(taskNumber);
+    }
+
+    @Override
+    public synchronized Task unmark(int taskNumber) throws MaxException {
+        return super.unmark(taskNumber);
+    }
+
+    @Override
+    public synchronized List<Task> snapshot() {
+        return super.snapshot();
+    }
+
+    @Override
+    public synchronized List<Task> find(String... terms) {
+        return super.find(terms);
+    }
+
+    @Override
+    public synchronized List<Task> findDueBy(LocalDate date) {
+        return super.findDueBy(date);
+    }
+
+    @Override
+    public synchronized List<Task> findBetween(LocalDate from, LocalDate to) {
+        return super.findBetween(from, to);
+    }
+
+    @Override
+    public synchronized void addListener(TaskListListener listener) {
+        super.addListener(listener);
+    }
+
+    @Override
+    public synchronized void removeListener(TaskListListener listener) {
+        super.removeListener(listener);
+    }
+}
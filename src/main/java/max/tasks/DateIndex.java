@@ -0,0 +1,139 @@
+package max.tasks;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Sorted index of deadline and event dates.
+ * Deadlines are keyed by due date. Events are grouped by span, each group rounded up to a power of two
+ * days, and keyed by start date within their group. The longest span of a group bounds how far before
+ * a query range an overlapping event of that group can start, so one long event only widens the
+ * search through the few events as long as it.
+ */
+public class DateIndex {
+    private final TreeMap<Long, Set<Task>> deadlines = new TreeMap<>();
+    // Events keyed by start date, grouped by the number of bits in their span in days
+    private final TreeMap<Integer, TreeMap<Long, Set<Task>>> eventsBySpan = new TreeMap<>();
+
+    /**
+     * Initialises an index over the given tasks.
+     *
+     * @param tasks Tasks to be indexed
+     */
+    public DateIndex(List<Task> tasks) {
+        for (Task task : tasks) {
+            add(task);
+        }
+    }
+
+    /**
+     * Adds a task to the index. Todos have no dates and are ignored.
+     *
+     * @param task Task to be added
+     */
+    public void add(Task task) {
+        if (task instanceof Deadline) {
+            deadlines.computeIfAbsent(startOf(task), key -> new LinkedHashSet<>()).add(task);
+        } else if (task instanceof Event) {
+            eventsBySpan.computeIfAbsent(spanGroupOf((Event) task), key -> new TreeMap<>())
+                    .computeIfAbsent(startOf(task), key -> new LinkedHashSet<>()).add(task);
+        }
+    }
+
+    /**
+     * Removes a task from the index.
+     *
+     * @param task Task to be removed
+     */
+    public void remove(Task task) {
+        if (task instanceof Deadline) {
+            removeFrom(deadlines, task);
+        } else if (task instanceof Event) {
+            int group = spanGroupOf((Event) task);
+            TreeMap<Long, Set<Task>> events = eventsBySpan.get(group);
+            if (events != null) {
+                removeFrom(events, task);
+                if (events.isEmpty()) {
+                    eventsBySpan.remove(group);
+                }
+            }
+        }
+    }
+
+    private static void removeFrom(TreeMap<Long, Set<Task>> index, Task task) {
+        Set<Task> tasks = index.get(startOf(task));
+        if (tasks != null) {
+            tasks.remove(task);
+            if (tasks.isEmpty()) {
+                index.remove(startOf(task));
+            }
+        }
+    }
+
+    /**
+     * Returns deadlines due on or before the given date, earliest first.
+     *
+     * @param date Latest due date
+     * @return Matching deadlines
+     */
+    public List<Task> getDueBy(LocalDate date) {
+        return flatten(deadlines.headMap(date.toEpochDay(), true));
+    }
+
+    /**
+     * Returns deadlines due within the given range and events overlapping it, earliest first.
+     *
+     * @param from Start of range, inclusive
+     * @param to End of range, inclusive
+     * @return Matching tasks
+     */
+    public List<Task> getBetween(LocalDate from, LocalDate to) {
+        long start = from.toEpochDay();
+        long end = to.toEpochDay();
+        if (start > end) {
+            return new ArrayList<>();
+        }
+        List<Task> matches = flatten(deadlines.subMap(start, true, end, true));
+
+        for (Map.Entry<Integer, TreeMap<Long, Set<Task>>> group : eventsBySpan.entrySet()) {
+            long longestSpan = (1L << group.getKey()) - 1;
+            for (Set<Task> tasks : group.getValue().subMap(start - longestSpan, true, end, true).values()) {
+                for (Task task : tasks) {
+                    if (((Event) task).getToDate().toEpochDay() >= start) {
+                        matches.add(task);
+                    }
+                }
+            }
+        }
+        matches.sort(Comparator.comparing(DateIndex::startOf));
+        return matches;
+    }
+
+    private static List<Task> flatten(Map<Long, Set<Task>> index) {
+        List<Task> tasks = new ArrayList<>();
+        for (Set<Task> dayTasks : index.values()) {
+            tasks.addAll(dayTasks);
+        }
+        return tasks;
+    }
+
+    private static long startOf(Task task) {
+        return task instanceof Deadline
+                ? ((Deadline) task).getByDate().toEpochDay()
+                : ((Event) task).getFromDate().toEpochDay();
+    }
+
+    /**
+     * Returns the group of an event, such that every event in group k spans fewer than 2^k days.
+     */
+    private static int spanGroupOf(Event event) {
+        long span = Math.max(0, event.getToDate().toEpochDay() - event.getFromDate().toEpochDay());
+        return Long.SIZE - Long.numberOfLeadingZeros(span);
+    }
+}
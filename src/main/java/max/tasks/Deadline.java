@@ -30,6 +30,10 @@ public class Deadline extends Task {
         this.byDate = byDate;
     }
 
+    public LocalDate getByDate() {
+        return byDate;
+    }
+
     /**
      * Returns string representation of Deadline task in the app.
      *
@@ -0,0 +1,98 @@
+package max.tasks;
+
+import java.lang.ref.WeakReference;
+import java.util.WeakHashMap;
+
+/**
+ * Intern table for task descriptions, so that tasks with the same description share one string.
+ * Both keys and values are weak: a description is dropped from the pool once no task uses it.
+ * Lists with many recurring tasks, such as "standup", save most of the memory their descriptions would take.
+ */
+public class DescriptionPool {
+    private static final DescriptionPool SHARED = new DescriptionPool();
+    // Rough size of a string object and its array header, on top of its characters
+    private static final int STRING_OVERHEAD = 40;
+
+    private final WeakHashMap<String, WeakReference<String>> pool = new WeakHashMap<>();
+    private long lookups = 0;
+    private long hits = 0;
+    private long bytesSaved = 0;
+
+    /**
+     * Returns the pool used by the loaders and the parser.
+     *
+     * @return Shared description pool
+     */
+    public static DescriptionPool getShared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the pooled string equal to the given description, adding the description if there is none.
+     *
+     * @param description Description of task
+     * @return Equal description from the pool
+     */
+    public synchronized String intern(String description) {
+        lookups++;
+        WeakReference<String> reference = pool.get(description);
+        String pooled = reference == null ? null : reference.get();
+        if (pooled != null) {
+            hits++;
+            bytesSaved += STRING_OVERHEAD + sizeOf(description);
+            return pooled;
+        }
+        pool.put(description, new WeakReference<>(description));
+        return description;
+    }
+
+    /**
+     * Estimates the bytes taken by the characters of a string, which are stored as one byte each
+     * if they all fit in Latin-1 and as two bytes each otherwise.
+     */
+    private static int sizeOf(String description) {
+        for (int i = 0; i < description.length(); i++) {
+            if (description.charAt(i) > 0xFF) {
+                return 2 * description.length();
+            }
+        }
+        return description.length();
+    }
+
+    /**
+     * Returns the number of distinct descriptions still in use.
+     *
+     * @return Number of pooled descriptions
+     */
+    public synchronized int size() {
+        return pool.size();
+    }
+
+    /**
+     * Returns the fraction of lookups that found an equal description already in the pool.
+     *
+     * @return Hit rate between 0 and 1
+     */
+    public synchronized double getHitRate() {
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    /**
+     * Returns an estimate of the memory saved by sharing descriptions.
+     *
+     * @return Bytes saved
+     */
+    public synchronized long getBytesSaved() {
+        return bytesSaved;
+    }
+
+    /**
+     * Returns a one-line summary of the pool's statistics.
+     *
+     * @return Summary of lookups, hit rate and bytes saved
+     */
+    public synchronized String getStats() {
+        return String.format("Description pool: %d distinct, %d lookup(s), %.1f%% hits, about %d KiB saved.",
+                pool.size(), lookups, 100 * getHitRate(), bytesSaved / 1024);
+    }
+}
@@ -34,6 +34,14 @@ public class Event extends Task {
         this.fromDate = fromDate;
         this.toDate = toDate;
     }
+    public LocalDate getFromDate() {
+        return fromDate;
+    }
+
+    public LocalDate getToDate() {
+        return toDate;
+    }
+
     /**
      * Returns string representation of Event task in the app.
      *
@@ -0,0 +1,115 @@
+package max.tasks;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Function;
+
+/**
+ * List of tasks that are only decoded from their stored form when first accessed.
+ * Each slot holds either a decoded task or the raw form it was loaded from.
+ * Deletes leave tombstones rather than shifting the slots after them, see {@link TombstoneList}.
+ *
+ * @param <R> Type of the raw stored form of a task
+ */
+public class LazyTaskList<R> extends AbstractList<Task> implements RandomAccess {
+    private final TombstoneList<Object> slots;
+    private final Function<R, Task> decoder;
+
+    /**
+     * Initialises a task list from raw stored tasks.
+     *
+     * @param raws Raw stored form of each task, in order
+     * @param decoder Function decoding a raw stored task
+     */
+    public LazyTaskList(List<R> raws, Function<R, Task> decoder) {
+        this.slots = new TombstoneList<>(raws);
+        this.decoder = decoder;
+    }
+
+    private LazyTaskList(TombstoneList<Object> slots, Function<R, Task> decoder) {
+        this.slots = slots;
+        this.decoder = decoder;
+    }
+
+    /**
+     * Returns the task at the given index, decoding it if this is its first access.
+     *
+     * @param index Zero-based index of task
+     * @return Task at given index
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Task get(int index) {
+        Object slot = slots.get(index);
+        if (slot instanceof Task) {
+            return (Task) slot;
+        }
+        Task task = decoder.apply((R) slot);
+        slots.set(index, task);
+        return task;
+    }
+
+    /**
+     * Returns the raw stored form of a task that has not been decoded yet.
+     * Decoded tasks may have changed since loading, so they have no raw form.
+     *
+     * @param index Zero-based index of task
+     * @return Raw stored form of task, or null if the task has been decoded
+     */
+    @SuppressWarnings("unchecked")
+    public R getRaw(int index) {
+        Object slot = slots.get(index);
+        return slot instanceof Task ? null : (R) slot;
+    }
+
+    @Override
+    public int size() {
+        return slots.size();
+    }
+
+    @Override
+    public Task set(int index, Task task) {
+        Task previous = get(index);
+        slots.set(index, task);
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        slots.add(index, task);
+        modCount++;
+    }
+
+    @Override
+    public Task remove(int index) {
+        Task removed = get(index);
+        slots.remove(index);
+        modCount++;
+        return removed;
+    }
+
+    /**
+     * Returns a copy of this list that shares undecoded slots, without decoding them.
+     *
+     * @return Copy of this list
+     */
+    public LazyTaskList<R> copy() {
+        return new LazyTaskList<>(new TombstoneList<>(slots), decoder);
+    }
+
+    /**
+     * Returns the number of tasks that have been decoded so far.
+     *
+     * @return Number of decoded tasks
+     */
+    public int getDecodedCount() {
+        int count = 0;
+        for (Object slot : slots) {
+            if (slot instanceof Task) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,190 @@
+package max.tasks;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+import java.util.function.IntFunction;
+
+/**
+ * List of tasks that are only decoded from numbered records, such as those of a mapped snapshot, when first accessed.
+ * Record numbers are kept in an int column next to the decoded tasks, so none of them is boxed.
+ * Deletes leave tombstones rather than shifting the slots after them, like {@link TombstoneList}.
+ */
+public class RecordTaskList extends AbstractList<Task> implements RandomAccess {
+    private static final int TOMBSTONE = -1;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final IntFunction<Task> decoder;
+    // Decoded task of each slot, or null if it is still only a record or is a tombstone
+    private Task[] tasks;
+    // Record of each slot that has not been decoded yet, or TOMBSTONE
+    private int[] records;
+    private SlotIndex index;
+
+    /**
+     * Initialises a task list from records numbered 0 up to the given count, in order.
+     *
+     * @param count Number of records
+     * @param decoder Function decoding the record with the given number
+     */
+    public RecordTaskList(int count, IntFunction<Task> decoder) {
+        int capacity = Math.max(INITIAL_CAPACITY, count);
+        this.decoder = decoder;
+        this.tasks = new Task[capacity];
+        this.records = new int[capacity];
+        for (int i = 0; i < count; i++) {
+            records[i] = i;
+        }
+        this.index = new SlotIndex(capacity);
+        index.rebuild(count, slot -> true);
+    }
+
+    private RecordTaskList(RecordTaskList other) {
+        this.decoder = other.decoder;
+        this.tasks = other.tasks.clone();
+        this.records = other.records.clone();
+        this.index = new SlotIndex(other.index);
+    }
+
+    /**
+     * Returns the task at the given index, decoding it if this is its first access.
+     *
+     * @param index Zero-based index of task
+     * @return Task at given index
+     */
+    @Override
+    public Task get(int index) {
+        checkIndex(index);
+        int slot = this.index.slotOf(index);
+        if (tasks[slot] == null) {
+            tasks[slot] = decoder.apply(records[slot]);
+        }
+        return tasks[slot];
+    }
+
+    @Override
+    public int size() {
+        return index.getSize();
+    }
+
+    @Override
+    public Task set(int index, Task task) {
+        Task previous = get(index);
+        tasks[this.index.slotOf(index)] = task;
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        int slot;
+        if (index < size()) {
+            // Inserting in the middle shifts like an ordinary array list
+            compact();
+            int end = this.index.getEnd();
+            ensureCapacity(end + 1);
+            System.arraycopy(tasks, index, tasks, index + 1, end - index);
+            System.arraycopy(records, index, records, index + 1, end - index);
+            this.index.rebuild(end + 1, s -> true);
+            slot = index;
+        } else {
+            slot = this.index.getEnd();
+            ensureCapacity(slot + 1);
+            this.index.append();
+        }
+        tasks[slot] = task;
+        modCount++;
+    }
+
+    @Override
+    public Task remove(int index) {
+        Task removed = get(index);
+        int slot = this.index.slotOf(index);
+        tasks[slot] = null;
+        records[slot] = TOMBSTONE;
+        this.index.remove(slot);
+        // Tombstones at the end are dropped straight away
+        int end = this.index.getEnd();
+        while (end > 0 && isTombstone(end - 1)) {
+            end--;
+        }
+        this.index.truncate(end);
+        if (this.index.shouldCompact()) {
+            compact();
+        }
+        modCount++;
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(tasks, 0, index.getEnd(), null);
+        index.clear();
+        modCount++;
+    }
+
+    /**
+     * Returns a copy of this list that shares undecoded records, without decoding them.
+     *
+     * @return Copy of this list
+     */
+    public RecordTaskList copy() {
+        return new RecordTaskList(this);
+    }
+
+    /**
+     * Returns the number of tasks that have been decoded so far.
+     *
+     * @return Number of decoded tasks
+     */
+    public int getDecodedCount() {
+        int count = 0;
+        for (int i = 0; i < index.getEnd(); i++) {
+            if (tasks[i] != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+    }
+
+    private boolean isTombstone(int slot) {
+        return tasks[slot] == null && records[slot] == TOMBSTONE;
+    }
+
+    /**
+     * Moves the live slots to the front, in order, and drops the tombstones.
+     */
+    private void compact() {
+        int end = index.getEnd();
+        if (end == index.getSize()) {
+            return;
+        }
+        int live = 0;
+        for (int i = 0; i < end; i++) {
+            if (!isTombstone(i)) {
+                tasks[live] = tasks[i];
+                records[live] = records[i];
+                live++;
+            }
+        }
+        Arrays.fill(tasks, live, end, null);
+        index.rebuild(live, slot -> true);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= tasks.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, tasks.length * 2);
+        tasks = Arrays.copyOf(tasks, newCapacity);
+        records = Arrays.copyOf(records, newCapacity);
+    }
+}
@@ -0,0 +1,158 @@
+package max.tasks;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * Maps positions in a list to the slots of an array whose removed elements are left as tombstones.
+ * A Fenwick tree over the live slots answers a lookup or records a removal in logarithmic time.
+ * The owning list keeps the slots themselves and tells the index which of them are live.
+ */
+class SlotIndex {
+    // Small lists are cheap to shift, so they are only compacted once this many tombstones pile up
+    private static final int MIN_TOMBSTONES = 64;
+
+    // Fenwick tree over slots, 1-based: tree[k] counts the live slots in (k - lowestOneBit(k), k]
+    private int[] tree;
+    // Number of slots in use, live or not
+    private int end = 0;
+    private int size = 0;
+
+    /**
+     * Initialises an index with no slots in use.
+     *
+     * @param capacity Number of slots to make room for
+     */
+    SlotIndex(int capacity) {
+        tree = new int[capacity + 1];
+    }
+
+    /**
+     * Initialises a copy of another index.
+     *
+     * @param other Index to be copied
+     */
+    SlotIndex(SlotIndex other) {
+        tree = other.tree.clone();
+        end = other.end;
+        size = other.size;
+    }
+
+    int getEnd() {
+        return end;
+    }
+
+    int getSize() {
+        return size;
+    }
+
+    /**
+     * Finds the slot of the element at the given position, by descending the tree for the
+     * first slot with index + 1 live slots up to and including it.
+     *
+     * @param index Zero-based position of a live element
+     * @return Slot holding the element
+     */
+    int slotOf(int index) {
+        if (end == size) {
+            return index;
+        }
+        int slot = 0;
+        int remaining = index + 1;
+        for (int step = Integer.highestOneBit(end); step > 0; step >>= 1) {
+            int next = slot + step;
+            if (next <= end && tree[next] < remaining) {
+                slot = next;
+                remaining -= tree[next];
+            }
+        }
+        return slot;
+    }
+
+    /**
+     * Records a live slot added after the last slot in use.
+     */
+    void append() {
+        ensureCapacity(end + 1);
+        end++;
+        size++;
+        int k = end;
+        tree[k] = 1 + prefixCount(k - 1) - prefixCount(k - Integer.lowestOneBit(k));
+    }
+
+    /**
+     * Records that a live slot now holds a tombstone.
+     *
+     * @param slot Slot of the removed element
+     */
+    void remove(int slot) {
+        for (int k = slot + 1; k <= end; k += Integer.lowestOneBit(k)) {
+            tree[k]--;
+        }
+        size--;
+    }
+
+    /**
+     * Stops using the slots from the given one on, which must all hold tombstones.
+     * Their tree entries are recomputed when slots are appended again.
+     *
+     * @param end Number of slots still in use
+     */
+    void truncate(int end) {
+        this.end = end;
+    }
+
+    /**
+     * Checks if enough tombstones have piled up that the owner should sweep them out.
+     *
+     * @return True if the slots should be compacted
+     */
+    boolean shouldCompact() {
+        return end - size > Math.max(MIN_TOMBSTONES, size);
+    }
+
+    /**
+     * Recounts the live slots, after the owner has moved its elements.
+     *
+     * @param end Number of slots in use
+     * @param isLive Whether a slot holds a live element
+     */
+    void rebuild(int end, IntPredicate isLive) {
+        ensureCapacity(end);
+        this.end = end;
+        size = 0;
+        for (int k = 1; k <= end; k++) {
+            tree[k] = isLive.test(k - 1) ? 1 : 0;
+            size += tree[k];
+        }
+        for (int k = 1; k <= end; k++) {
+            int parent = k + Integer.lowestOneBit(k);
+            if (parent <= end) {
+                tree[parent] += tree[k];
+            }
+        }
+    }
+
+    /**
+     * Stops using every slot.
+     */
+    void clear() {
+        end = 0;
+        size = 0;
+    }
+
+    private int prefixCount(int k) {
+        int count = 0;
+        for (; k > 0; k -= Integer.lowestOneBit(k)) {
+            count += tree[k];
+        }
+        return count;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity < tree.length) {
+            return;
+        }
+        tree = Arrays.copyOf(tree, Math.max(capacity + 1, tree.length * 2));
+    }
+}
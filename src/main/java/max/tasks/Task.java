@@ -1,11 +1,17 @@
 package max.tasks;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * Represents a task object.
  */
 public class Task {
+    private static final AtomicLong NEXT_ID = new AtomicLong(1);
+
     private String item;
     private boolean isDone;
+    // Unlike its number in the list, a task's id does not change when tasks before it are deleted
+    private long id = NEXT_ID.getAndIncrement();
 
     /**
      * Initialises Task object with a description and done status to be false.
@@ -46,6 +52,10 @@ public class Task {
     public String getItem() {
         return this.item;
     }
+
+    public boolean isDone() {
+        return this.isDone;
+    }
     /**
      * String representation of task.
      * @return String
@@ -56,6 +66,39 @@ public class Task {
         return "[" + doneStatus + "] " + item;
     }
 
+    /**
+     * Returns the identifier of this task, which is unique among the tasks created since the app started.
+     *
+     * @return Id of task
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Gives this task the id of the task it is a view of.
+     */
+    void setId(long id) {
+        this.id = id;
+    }
+
+    /**
+     * Checks if this is the same task as the given object.
+     * Tasks read from a {@link ColumnarTaskList} are views, which are the same task if they share an id.
+     *
+     * @param o Object to be compared
+     * @return True if both are the same task, false otherwise
+     */
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof Task && ((Task) o).id == id;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(id);
+    }
+
     /**
      * Saves task as a string in memory.
      * @return String
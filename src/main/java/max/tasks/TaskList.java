@@ -1,6 +1,8 @@
 package max.tasks;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.List;
 
 import max.exception.InvalidArgumentException;
 import max.exception.MaxException;
@@ -8,14 +10,17 @@ import max.exception.MaxException;
  * Manages all tasks.
  */
 public class TaskList {
-    private ArrayList<Task> myList;
+    private List<Task> myList;
     private int numOfItems;
+    private WordIndex wordIndex;
+    private DateIndex dateIndex;
+    private List<TaskListListener> listeners = new ArrayList<>();
 
     /**
      * Initialises a new task list.
      */
     public TaskList() {
-        myList = new ArrayList<>();
+        myList = new TombstoneList<>();
         numOfItems = 0;
     }
 
@@ -24,7 +29,7 @@ public class TaskList {
      *
      * @param myList Existing list of tasks
      */
-    public TaskList(ArrayList<Task> myList) {
+    public TaskList(List<Task> myList) {
         this.myList = myList;
         numOfItems = myList.size();
     }
@@ -36,47 +41,192 @@ public class TaskList {
      */
     public void add(Task task) {
         myList.add(task);
+        if (wordIndex != null) {
+            wordIndex.add(task);
+        }
+        if (dateIndex != null) {
+            dateIndex.add(task);
+        }
+        for (TaskListListener listener : listeners) {
+            listener.onAdd(myList.size() - 1, task);
+        }
     }
-    public ArrayList<Task> getList() {
+    /**
+     * Returns the tasks. This is the list itself rather than a copy, so a list shared between threads
+     * should be read while holding its lock, see {@link ConcurrentTaskList}.
+     *
+     * @return Tasks in the list
+     */
+    public List<Task> getList() {
         return myList;
     }
 
+    /**
+     * Returns a copy of the tasks that later changes to the list do not affect, so that it can be read,
+     * rendered or saved without holding the list. Only references are copied: lazily loaded tasks
+     * stay undecoded, and a columnar list copies its columns rather than creating a view of each task.
+     *
+     * @return Copy of the tasks in the list
+     */
+    public List<Task> snapshot() {
+        if (myList instanceof LazyTaskList) {
+            return ((LazyTaskList<?>) myList).copy();
+        } else if (myList instanceof RecordTaskList) {
+            return ((RecordTaskList) myList).copy();
+        } else if (myList instanceof ColumnarTaskList) {
+            return ((ColumnarTaskList) myList).copy();
+        } else {
+            return new ArrayList<>(myList);
+        }
+    }
+
+    /**
+     * Returns the number of tasks in the list.
+     *
+     * @return Number of tasks
+     */
+    public int size() {
+        return myList.size();
+    }
+
+    /**
+     * Registers a listener to be told about changes to the list.
+     *
+     * @param listener Listener to be added
+     */
+    public void addListener(TaskListListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Stops telling a listener about changes to the list.
+     *
+     * @param listener Listener to be removed
+     */
+    public void removeListener(TaskListListener listener) {
+        listeners.remove(listener);
+    }
+
     /**
      * Deletes task from list.
      * @param taskNumber Index of task number to be deleted
+     * @return Deleted task
      * @throws MaxException If invalid task number given
      */
-    public void delete(int taskNumber) throws MaxException {
+    public Task delete(int taskNumber) throws MaxException {
         if (taskNumber > myList.size() || taskNumber < 0) {
             throw new InvalidArgumentException("Seems like that number is out of range. Check again!");
         }
-        Task toDelete = myList.get(taskNumber - 1);
-        myList.remove(toDelete);
+        Task toDelete = myList.remove(taskNumber - 1);
         numOfItems--;
+        if (wordIndex != null) {
+            wordIndex.remove(toDelete);
+        }
+        if (dateIndex != null) {
+            dateIndex.remove(toDelete);
+        }
+        for (TaskListListener listener : listeners) {
+            listener.onDelete(taskNumber - 1, toDelete);
+        }
+        return toDelete;
+    }
+
+    /**
+     * Finds tasks whose description contains any of the given terms.
+     * The word index is built on the first search and kept up to date afterwards.
+     *
+     * @param terms Search terms
+     * @return Matching tasks in list order
+     */
+    public List<Task> find(String... terms) {
+        if (wordIndex == null) {
+            wordIndex = new WordIndex(myList);
+        }
+        return wordIndex.find(terms);
+    }
+
+    /**
+     * Finds deadlines due on or before the given date.
+     * The date index is built on the first date query and kept up to date afterwards.
+     *
+     * @param date Latest due date
+     * @return Matching deadlines, earliest first
+     */
+    public List<Task> findDueBy(LocalDate date) {
+        if (dateIndex == null) {
+            dateIndex = new DateIndex(myList);
+        }
+        return dateIndex.getDueBy(date);
+    }
+
+    /**
+     * Finds deadlines due within the given dates and events overlapping them.
+     *
+     * @param from Start date, inclusive
+     * @param to End date, inclusive
+     * @return Matching tasks, earliest first
+     */
+    public List<Task> findBetween(LocalDate from, LocalDate to) {
+        if (dateIndex == null) {
+            dateIndex = new DateIndex(myList);
+        }
+        return dateIndex.getBetween(from, to);
     }
 
     /**
      * Marks task as done.
      *
      * @param taskNumber Task to be marked
+     * @return The marked task
      * @throws MaxException If invalid task number given
      */
-    public void mark(int taskNumber) throws MaxException {
+    public Task mark(int taskNumber) throws MaxException {
         if (taskNumber > myList.size() || taskNumber < 0) {
             throw new InvalidArgumentException("Seems like that number is out of range. Check again!");
         }
-        myList.get(taskNumber - 1).mark();
+        Task task = myList.get(taskNumber - 1);
+        task.mark();
+        writeBack(taskNumber - 1, task);
+        for (TaskListListener listener : listeners) {
+            listener.onUpdate(taskNumber - 1, task);
+        }
+        return task;
     }
     /**
      * Unmarks task.
      *
      * @param taskNumber Task to be unmarked
+     * @return The unmarked task
      * @throws MaxException If invalid task number given
      */
-    public void unmark(int taskNumber) throws MaxException {
+    public Task unmark(int taskNumber) throws MaxException {
         if (taskNumber > myList.size() || taskNumber < 0) {
             throw new InvalidArgumentException("Seems like that number is out of range. Check again!");
         }
-        myList.get(taskNumber - 1).unmark();
+        Task task = myList.get(taskNumber - 1);
+        task.unmark();
+        writeBack(taskNumber - 1, task);
+        for (TaskListListener listener : listeners) {
+            listener.onUpdate(taskNumber - 1, task);
+        }
+        return task;
+    }
+
+    /**
+     * Stores a changed task back in the list. Lists that hand out a new view of a task on every read
+     * only keep the change once it is written back, and the indexes then hold an outdated view.
+     */
+    private void writeBack(int index, Task task) {
+        Task previous = myList.set(index, task);
+        if (previous == task) {
+            return;
+        }
+        if (wordIndex != null) {
+            wordIndex.replace(task);
+        }
+        if (dateIndex != null) {
+            dateIndex.remove(previous);
+            dateIndex.add(task);
+        }
     }
 }
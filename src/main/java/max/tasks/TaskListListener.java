@@ -0,0 +1,30 @@
+package max.tasks;
+
+/**
+ * Receives changes made to a task list, so that views of the list can stay up to date.
+ */
+public interface TaskListListener {
+    /**
+     * Called after a task is added.
+     *
+     * @param index Zero-based index of added task
+     * @param task Task that was added
+     */
+    void onAdd(int index, Task task);
+
+    /**
+     * Called after a task is deleted.
+     *
+     * @param index Zero-based index the task was deleted from
+     * @param task Task that was deleted
+     */
+    void onDelete(int index, Task task);
+
+    /**
+     * Called after a task is marked or unmarked.
+     *
+     * @param index Zero-based index of updated task
+     * @param task Task that was updated
+     */
+    void onUpdate(int index, Task task);
+}
@@ -0,0 +1,166 @@
+package max.tasks;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * Array-backed list whose removals leave a tombstone instead of shifting the elements after it.
+ * A {@link SlotIndex} over the live slots maps a position in the list to its slot in logarithmic time.
+ * Tombstones are swept out once they outnumber the live elements, so a run of deletes from the
+ * front of a large list costs amortised constant time each instead of a full shift each.
+ *
+ * @param <E> Type of elements
+ */
+public class TombstoneList<E> extends AbstractList<E> implements RandomAccess {
+    private static final Object TOMBSTONE = new Object();
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Object[] slots;
+    private SlotIndex index;
+
+    /**
+     * Initialises an empty list.
+     */
+    public TombstoneList() {
+        slots = new Object[INITIAL_CAPACITY];
+        index = new SlotIndex(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Initialises a list holding the given elements, in order.
+     *
+     * @param elements Elements to be held
+     */
+    public TombstoneList(Collection<? extends E> elements) {
+        Object[] array = elements.toArray();
+        slots = Arrays.copyOf(array, Math.max(INITIAL_CAPACITY, array.length), Object[].class);
+        index = new SlotIndex(slots.length);
+        index.rebuild(array.length, slot -> true);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        checkIndex(index);
+        return (E) slots[this.index.slotOf(index)];
+    }
+
+    @Override
+    public int size() {
+        return index.getSize();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E set(int index, E element) {
+        checkIndex(index);
+        int slot = this.index.slotOf(index);
+        E previous = (E) slots[slot];
+        slots[slot] = element;
+        return previous;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        if (index < size()) {
+            // Inserting in the middle shifts like an ordinary array list
+            compact();
+            int end = this.index.getEnd();
+            ensureCapacity(end + 1);
+            System.arraycopy(slots, index, slots, index + 1, end - index);
+            slots[index] = element;
+            this.index.rebuild(end + 1, slot -> true);
+        } else {
+            int end = this.index.getEnd();
+            ensureCapacity(end + 1);
+            slots[end] = element;
+            this.index.append();
+        }
+        modCount++;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E remove(int index) {
+        checkIndex(index);
+        int slot = this.index.slotOf(index);
+        E removed = (E) slots[slot];
+        slots[slot] = TOMBSTONE;
+        this.index.remove(slot);
+        // Tombstones at the end are dropped straight away
+        int end = this.index.getEnd();
+        while (end > 0 && slots[end - 1] == TOMBSTONE) {
+            slots[--end] = null;
+        }
+        this.index.truncate(end);
+        if (this.index.shouldCompact()) {
+            compact();
+        }
+        modCount++;
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(slots, 0, index.getEnd(), null);
+        index.clear();
+        modCount++;
+    }
+
+    @Override
+    public Object[] toArray() {
+        Object[] array = new Object[size()];
+        int count = 0;
+        for (int i = 0; i < index.getEnd(); i++) {
+            if (slots[i] != TOMBSTONE) {
+                array[count++] = slots[i];
+            }
+        }
+        return array;
+    }
+
+    /**
+     * Returns the number of removed elements whose slots have not been reclaimed yet.
+     *
+     * @return Number of tombstones
+     */
+    public int getTombstoneCount() {
+        return index.getEnd() - index.getSize();
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+    }
+
+    /**
+     * Moves the live elements to the front of the slots, in order, and drops the tombstones.
+     */
+    private void compact() {
+        int end = index.getEnd();
+        if (end == index.getSize()) {
+            return;
+        }
+        int live = 0;
+        for (int i = 0; i < end; i++) {
+            if (slots[i] != TOMBSTONE) {
+                slots[live++] = slots[i];
+            }
+        }
+        Arrays.fill(slots, live, end, null);
+        index.rebuild(live, slot -> true);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= slots.length) {
+            return;
+        }
+        slots = Arrays.copyOf(slots, Math.max(capacity, slots.length * 2));
+    }
+}
@@ -0,0 +1,68 @@
+package max.tasks;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Index from three-character substrings to the words containing them.
+ * Any word containing a search term must contain every trigram of that term,
+ * so only the words under the term's rarest trigram need to be checked.
+ */
+public class TrigramIndex {
+    public static final int GRAM_LENGTH = 3;
+
+    private final HashMap<String, Set<String>> words = new HashMap<>();
+
+    /**
+     * Adds a word to the index.
+     *
+     * @param word Word to be added
+     */
+    public void add(String word) {
+        for (int i = 0; i + GRAM_LENGTH <= word.length(); i++) {
+            words.computeIfAbsent(word.substring(i, i + GRAM_LENGTH), key -> new HashSet<>()).add(word);
+        }
+    }
+
+    /**
+     * Removes a word from the index.
+     *
+     * @param word Word to be removed
+     */
+    public void remove(String word) {
+        for (int i = 0; i + GRAM_LENGTH <= word.length(); i++) {
+            String gram = word.substring(i, i + GRAM_LENGTH);
+            Set<String> gramWords = words.get(gram);
+            if (gramWords != null) {
+                gramWords.remove(word);
+                if (gramWords.isEmpty()) {
+                    words.remove(gram);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the words that may contain the given term. Every word containing the term is included,
+     * but candidates still need to be checked with {@link String#contains}.
+     *
+     * @param term Search term of at least {@link #GRAM_LENGTH} characters
+     * @return Candidate words
+     */
+    public Set<String> getCandidates(String term) {
+        assert term.length() >= GRAM_LENGTH : "Term should be long enough to contain a trigram";
+        Set<String> candidates = null;
+        for (int i = 0; i + GRAM_LENGTH <= term.length(); i++) {
+            Set<String> gramWords = words.get(term.substring(i, i + GRAM_LENGTH));
+            if (gramWords == null) {
+                return Collections.emptySet();
+            }
+            if (candidates == null || gramWords.size() < candidates.size()) {
+                candidates = gramWords;
+            }
+        }
+        return candidates;
+    }
+}
@@ -0,0 +1,123 @@
+package max.tasks;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Inverted index from the words of task descriptions to the tasks containing them.
+ * Words are separated by spaces, so any search term without a space is found inside a single word.
+ * The distinct words are themselves indexed by trigram, so partial-word matches only check a few words.
+ */
+public class WordIndex {
+    private final HashMap<String, Set<Task>> postings = new HashMap<>();
+    // Position of each task in insertion order, used to return results in list order
+    private final HashMap<Task, Long> order = new HashMap<>();
+    private final TrigramIndex trigramIndex = new TrigramIndex();
+    private long nextOrder = 0;
+
+    /**
+     * Initialises an index over the given tasks.
+     *
+     * @param tasks Tasks in list order
+     */
+    public WordIndex(List<Task> tasks) {
+        for (Task task : tasks) {
+            add(task);
+        }
+    }
+
+    /**
+     * Adds a task to the end of the index.
+     *
+     * @param task Task to be added
+     */
+    public void add(Task task) {
+        order.put(task, nextOrder++);
+        for (String word : task.getItem().split(" ")) {
+            if (!word.isEmpty()) {
+                postings.computeIfAbsent(word, key -> {
+                    trigramIndex.add(key);
+                    return new HashSet<>();
+                }).add(task);
+            }
+        }
+    }
+
+    /**
+     * Removes a task from the index.
+     *
+     * @param task Task to be removed
+     */
+    public void remove(Task task) {
+        order.remove(task);
+        for (String word : task.getItem().split(" ")) {
+            Set<Task> posting = postings.get(word);
+            if (posting != null) {
+                posting.remove(task);
+                if (posting.isEmpty()) {
+                    postings.remove(word);
+                    trigramIndex.remove(word);
+                }
+            }
+        }
+    }
+
+    /**
+     * Replaces a task with an updated copy of it, such as a view written back to a {@link ColumnarTaskList}.
+     * The task keeps its place in list order. Its description must not have changed.
+     *
+     * @param task Updated task, equal to the one it replaces
+     */
+    public void replace(Task task) {
+        Long position = order.remove(task);
+        if (position == null) {
+            return;
+        }
+        order.put(task, position);
+        for (String word : task.getItem().split(" ")) {
+            Set<Task> posting = postings.get(word);
+            if (posting != null) {
+                posting.remove(task);
+                posting.add(task);
+            }
+        }
+    }
+
+    /**
+     * Returns tasks whose description contains any of the given terms, in list order.
+     * A term matching a whole word is answered from its posting list; words that merely contain
+     * the term are found among the trigram index candidates, or among all distinct words for short terms.
+     *
+     * @param terms Search terms
+     * @return Matching tasks
+     */
+    public List<Task> find(String... terms) {
+        Set<Task> matches = new HashSet<>();
+        for (String term : terms) {
+            if (term.isEmpty()) {
+                // Every description contains the empty string
+                matches.addAll(order.keySet());
+                break;
+            }
+            Set<Task> exact = postings.get(term);
+            if (exact != null) {
+                matches.addAll(exact);
+            }
+            Set<String> candidates = term.length() < TrigramIndex.GRAM_LENGTH
+                    ? postings.keySet()
+                    : trigramIndex.getCandidates(term);
+            for (String word : candidates) {
+                if (word.length() > term.length() && word.contains(term)) {
+                    matches.addAll(postings.get(word));
+                }
+            }
+        }
+        List<Task> result = new ArrayList<>(matches);
+        result.sort(Comparator.comparing(order::get));
+        return result;
+    }
+}
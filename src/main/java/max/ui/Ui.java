@@ -8,6 +8,8 @@ import max.tasks.Task;
  */
 public class Ui {
     private static final String LINE = "____________________________________________________________";
+    // Rough length of one rendered task, used to size the list buffer up front
+    private static final int ESTIMATED_TASK_LENGTH = 48;
 
     /**
      * Initialises UI.
@@ -74,19 +76,101 @@ public class Ui {
      *
      * @param list List containing tasks
      */
-    public String showList(List list) {
+    public String showList(List<Task> list) {
+        return showList(list, 0, list.size());
+    }
+
+    /**
+     * Prints a page of tasks, numbered by their position in the full list.
+     *
+     * @param list List containing tasks
+     * @param from Zero-based index of first task, inclusive
+     * @param to Zero-based index of last task, exclusive
+     */
+    public String showList(List<Task> list, int from, int to) {
         if (list.isEmpty()) {
             return "Hohoho, you have no tasks.";
-        } else {
-            String ls = "Here are all your tasks:\n";
-
-            // Iterate through ArrayList of tasks and enumerate them
-            for (int i = 0; i < list.size(); i++) {
-                int index = i + 1;
-                ls += index + ". " + list.get(i) + "\n";
-            }
-            return ls;
         }
+        String header = from == 0 && to == list.size()
+                ? "Here are all your tasks:\n"
+                : String.format("Here are tasks %d-%d of %d:\n", from + 1, to, list.size());
+        StringBuilder ls = new StringBuilder(header.length() + (to - from) * ESTIMATED_TASK_LENGTH);
+        ls.append(header);
+        writeList(ls, list, from, to);
+        return ls.toString();
+    }
+
+    /**
+     * Prints the first page of tasks, and how to see the next page if the list is longer.
+     *
+     * @param list List containing tasks
+     * @param pageSize Number of tasks on a page
+     */
+    public String showFirstPage(List<Task> list, int pageSize) {
+        if (list.size() <= pageSize) {
+            return showList(list);
+        }
+        return showList(list, 0, pageSize)
+                + String.format("...and %d more. Use list --page 2 to see the next page.", list.size() - pageSize);
+    }
+
+    /**
+     * Appends enumerated tasks to the given buffer, without building intermediate strings.
+     *
+     * @param ls Buffer to append to
+     * @param list List containing tasks
+     * @param from Zero-based index of first task, inclusive
+     * @param to Zero-based index of last task, exclusive
+     */
+    public void writeList(StringBuilder ls, List<Task> list, int from, int to) {
+        for (int i = from; i < to; i++) {
+            ls.append(i + 1).append(". ").append(list.get(i)).append('\n');
+        }
+    }
+
+    /**
+     * Prints message after switching to another list.
+     *
+     * @param name Name of list
+     * @param size Number of tasks in list
+     */
+    public String showUse(String name, int size) {
+        return String.format("Now using list '%s', which has %d task(s).", name, size);
+    }
+
+    /**
+     * Prints how many tasks were exported.
+     *
+     * @param count Number of tasks exported
+     * @param path Location of JSON file
+     */
+    public String showExport(int count, String path) {
+        return String.format("Exported %d task(s) to %s.", count, path);
+    }
+
+    /**
+     * Prints how many tasks were imported.
+     *
+     * @param count Number of tasks imported
+     * @param path Location of JSON file
+     * @param size Current size of task list
+     */
+    public String showImport(int count, String path, int size) {
+        return String.format("Imported %d task(s) from %s. Now you have %d task(s) in the list.", count, path, size);
+    }
+
+    /**
+     * Prints the names of all task lists, marking the current one.
+     *
+     * @param names Names of lists
+     * @param current Name of current list
+     */
+    public String showLists(List<String> names, String current) {
+        StringBuilder ls = new StringBuilder("Here are your lists:\n");
+        for (String name : names) {
+            ls.append(name.equals(current) ? "* " : "  ").append(name).append('\n');
+        }
+        return ls.toString();
     }
 
     /**
@@ -104,13 +188,20 @@ public class Ui {
      */
     public String showHelp() {
         return "Here are some commands you can try:\n"
-                + "  list -- show full task list\n"
+                + "  list -- show first page of task list\n"
+                + "  list <int>-<int> / list --page <int> -- show part of task list\n"
+                + "  lists -- show all task lists\n"
+                + "  use <name> -- switch to another task list, creating it if needed\n"
                 + "  mark <int> -- mark task as completed\n"
                 + "  unmark <int> -- mark task as not done yet\n"
                 + "  find xx xx -- filter specific task descriptions\n"
+                + "  due <yyyy-mm-dd> -- show deadlines due by a date\n"
+                + "  between <yyyy-mm-dd> <yyyy-mm-dd> -- show deadlines and events within dates\n"
                 + "  todo <item> -- create new todo\n"
                 + "  deadline <item> /by <yyyy-mm-dd> -- create new deadline task\n"
                 + "  event <item> /from <yyyy-mm-dd> /to <yyyy-mm-dd> -- create new event task\n"
+                + "  export <file> -- save task list as JSON\n"
+                + "  import <file> -- add tasks from a JSON file\n"
                 + "  help -- bruh need say more?";
     }
 }
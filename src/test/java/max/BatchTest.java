@@ -0,0 +1,78 @@
+package max;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import max.exception.MaxException;
+import max.storage.Storage;
+import max.tasks.Task;
+
+public class BatchTest {
+    @Test
+    public void run_snapshotWithInvalidDate_listRunsOnEmptyList(@TempDir Path tempDir)
+            throws IOException, MaxException {
+        Path path = tempDir.resolve("max.txt");
+        Files.writeString(path, "D | 0 | return book by: 2023-13-01\n");
+
+        Batch batch = new Batch(path.toString(), 0, false, false);
+        batch.run(new BufferedReader(new StringReader("list\n")));
+        assertEquals(1, batch.getCommandCount());
+        assertEquals(0, batch.getFailureCount());
+    }
+
+    @Test
+    public void run_scriptWithFailingLines_failuresCountedAndRestSaved(@TempDir Path tempDir)
+            throws IOException, MaxException {
+        Path path = tempDir.resolve("max.txt");
+        String script = "todo read book\n"
+                + "mark 9\n"
+                + "\n"
+                + "deadline return book /by 2024-01-01\n"
+                + "yolo\n"
+                + "mark 2\n";
+
+        Batch batch = new Batch(path.toString(), 0, false, false);
+        batch.run(new BufferedReader(new StringReader(script)));
+        assertEquals(5, batch.getCommandCount());
+        assertEquals(2, batch.getFailureCount());
+
+        List<Task> saved = new Storage(path.toString()).load();
+        assertEquals(2, saved.size());
+        assertEquals("[T][ ] read book", saved.get(0).toString());
+        assertEquals("[D][X] return book (by: 2024-01-01)", saved.get(1).toString());
+    }
+
+    @Test
+    public void run_flushEveryTwoCommands_earlierCommandsSavedBeforeScriptEnds(@TempDir Path tempDir)
+            throws IOException, MaxException {
+        Path path = tempDir.resolve("max.txt");
+        List<Integer> savedCounts = new ArrayList<>();
+        BufferedReader script = new BufferedReader(new StringReader("todo a\ntodo b\ntodo c\n")) {
+            @Override
+            public String readLine() throws IOException {
+                // Records how many tasks are on disk before each command is read
+                try {
+                    savedCounts.add(new Storage(path.toString()).load().size());
+                } catch (MaxException e) {
+                    // Nothing has been saved yet
+                    savedCounts.add(0);
+                }
+                return super.readLine();
+            }
+        };
+
+        new Batch(path.toString(), 2, false, false).run(script);
+        assertEquals(List.of(0, 0, 2, 2), savedCounts);
+        assertEquals(3, new Storage(path.toString()).load().size());
+    }
+}
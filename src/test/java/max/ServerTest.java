@@ -0,0 +1,28 @@
+package max;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import org.junit.jupiter.api.Test;
+
+public class ServerTest {
+    @Test
+    public void readResponse_linesStartingWithDot_readBackUnchanged() throws IOException {
+        StringWriter wire = new StringWriter();
+        BufferedWriter out = new BufferedWriter(wire);
+        Server.writeResponse(out, "Here are all your tasks:\n.\n..hidden\n");
+        Server.writeResponse(out, "Bye!");
+        out.flush();
+
+        BufferedReader in = new BufferedReader(new StringReader(wire.toString()));
+        assertEquals("Here are all your tasks:\n.\n..hidden\n", Server.readResponse(in));
+        assertEquals("Bye!", Server.readResponse(in));
+        assertNull(Server.readResponse(in));
+    }
+}
@@ -1,10 +1,16 @@
 package max.parser;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
 
 import max.exception.MaxException;
+import max.tasks.TaskList;
+import max.tasks.Todo;
+import max.ui.Ui;
 
 public class ParserTest {
     @Test
@@ -35,6 +41,13 @@ public class ParserTest {
         }
     }
     @Test
+    public void event_toBeforeFrom_exceptionThrown() {
+        Parser parser = new Parser();
+        MaxException e = assertThrows(MaxException.class,
+                () -> parser.parse("event cook dinner /to 2024-01-02 /from 2024-01-01"));
+        assertEquals("Oh no! Event item, 'from' date, or 'to' date cannot be empty.", e.getMessage());
+    }
+    @Test
     public void parse_invalidCommand_exceptionThrown() {
         try {
             Parser parser = new Parser();
@@ -43,4 +56,33 @@ public class ParserTest {
             assertEquals("Invalid command sir.", e.getMessage());
         }
     }
+    @Test
+    public void list_invalidRange_exceptionThrown() {
+        Parser parser = new Parser();
+        MaxException e = assertThrows(MaxException.class, () -> parser.parse("list 5-2"));
+        assertEquals("Make sure you enter a valid range!", e.getMessage());
+    }
+    @Test
+    public void list_noRangeOnLongList_firstPageAndHintShown() throws MaxException {
+        TaskList tasks = new TaskList();
+        for (int i = 1; i <= 250; i++) {
+            tasks.add(new Todo("task " + i, false));
+        }
+        String response = new Parser().parse("list").execute(tasks, new Ui(), null);
+
+        assertTrue(response.startsWith("Here are tasks 1-100 of 250:\n1. [T][ ] task 1\n"));
+        assertTrue(response.contains("100. [T][ ] task 100\n"));
+        assertFalse(response.contains("task 101"));
+        assertTrue(response.endsWith("...and 150 more. Use list --page 2 to see the next page."));
+    }
+    @Test
+    public void find_twoWords_tasksMatchingEitherShown() throws MaxException {
+        TaskList tasks = new TaskList();
+        tasks.add(new Todo("buy bread", false));
+        tasks.add(new Todo("read book", false));
+        tasks.add(new Todo("walk dog", false));
+        String response = new Parser().parse("find bread dog").execute(tasks, new Ui(), null);
+
+        assertEquals("Here are all your tasks:\n1. [T][ ] buy bread\n2. [T][ ] walk dog\n", response);
+    }
 }
@@ -0,0 +1,43 @@
+package max.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import max.exception.MaxException;
+import max.tasks.Deadline;
+import max.tasks.Event;
+import max.tasks.Task;
+import max.tasks.Todo;
+
+public class JsonTaskFileTest {
+    @Test
+    public void read_exportedFile_sameTasksInOrder(@TempDir Path tempDir) throws IOException, MaxException {
+        Path file = tempDir.resolve("tasks.json");
+        JsonTaskFile.write(List.of(new Todo("pack \"bag\"", true),
+                new Deadline("return book", LocalDate.parse("2023-09-30")),
+                new Event("recess week", LocalDate.parse("2023-09-23"), LocalDate.parse("2023-10-01"))), file);
+
+        List<Task> tasks = new ArrayList<>();
+        assertEquals(3, JsonTaskFile.read(file, tasks::add));
+        assertEquals("[T][X] pack \"bag\"", tasks.get(0).toString());
+        assertEquals("[D][ ] return book (by: 2023-09-30)", tasks.get(1).toString());
+        assertEquals("[E][ ] recess week (from: 2023-09-23 to: 2023-10-01)", tasks.get(2).toString());
+    }
+
+    @Test
+    public void read_deadlineWithoutDate_exceptionThrown(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("tasks.json");
+        Files.writeString(file, "[{\"type\": \"deadline\", \"description\": \"return book\", \"tag\": [1]}]");
+        assertThrows(MaxException.class, () -> JsonTaskFile.read(file, task -> { }));
+    }
+}
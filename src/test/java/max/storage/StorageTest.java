@@ -0,0 +1,227 @@
+package max.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import max.exception.MaxException;
+import max.tasks.Deadline;
+import max.tasks.LazyTaskList;
+import max.tasks.RecordTaskList;
+import max.tasks.Task;
+import max.tasks.TaskList;
+import max.tasks.Todo;
+
+public class StorageTest {
+    @Test
+    public void load_journalledChanges_replayedOnSnapshot(@TempDir Path tempDir) throws MaxException {
+        String filePath = tempDir.resolve("max.txt").toString();
+        Storage storage = new Storage(filePath);
+        TaskList tasks = new TaskList();
+        tasks.add(new Todo("read book"));
+        tasks.add(new Todo("return book"));
+        storage.writeToFile(tasks);
+
+        tasks.add(new Todo("buy bread"));
+        storage.recordAdd(tasks.getList().get(2), tasks);
+        tasks.mark(3);
+        storage.recordMark(3, tasks);
+        tasks.delete(1);
+        storage.recordDelete(1, tasks);
+        storage.flush();
+
+        TaskList loaded = new TaskList(new Storage(filePath).load());
+        assertEquals(2, loaded.getList().size());
+        assertEquals("[T][ ] return book", loaded.getList().get(0).toString());
+        assertEquals("[T][X] buy bread", loaded.getList().get(1).toString());
+    }
+
+    @Test
+    public void load_journalEndingInTornRecord_recordDropped(@TempDir Path tempDir) throws IOException, MaxException {
+        Path path = tempDir.resolve("max.txt");
+        TaskList tasks = new TaskList();
+        tasks.add(new Todo("read book"));
+        new Storage(path.toString()).writeToFile(tasks);
+        // A crash while writing "D 1" left only its first byte
+        Path journal = tempDir.resolve("max.txt.log");
+        Files.writeString(journal, "A T | 0 | buy bread\nM 2\nD");
+
+        List<Task> loaded = new Storage(path.toString()).load();
+        assertEquals(2, loaded.size());
+        assertEquals("[T][X] buy bread", loaded.get(1).toString());
+        assertEquals("A T | 0 | buy bread\nM 2\n", Files.readString(journal));
+    }
+
+    @Test
+    public void load_binaryMarkedInPlace_noJournalWritten(@TempDir Path tempDir) throws MaxException {
+        String filePath = tempDir.resolve("max.bin").toString();
+        TaskList tasks = new TaskList();
+        tasks.add(new Todo("read book"));
+        tasks.add(new Deadline("return book", LocalDate.parse("2024-01-01")));
+        new Storage(filePath).writeToFile(tasks);
+
+        Storage storage = new Storage(filePath);
+        TaskList loaded = new TaskList(storage.load());
+        loaded.mark(2);
+        storage.recordMark(2, loaded);
+
+        assertEquals(false, Files.exists(tempDir.resolve("max.bin.log")));
+        assertEquals("[D][X] return book (by: 2024-01-01)",
+                new Storage(filePath).load().get(1).toString());
+    }
+
+    @Test
+    public void recordAdd_withinFlushWindow_writtenOnFlush(@TempDir Path tempDir) throws IOException, MaxException {
+        String filePath = tempDir.resolve("max.txt").toString();
+        Storage storage = new Storage(filePath, 60_000);
+        TaskList tasks = new TaskList();
+        tasks.add(new Todo("read book"));
+        storage.recordAdd(tasks.getList().get(0), tasks);
+        tasks.add(new Todo("return book"));
+        storage.recordAdd(tasks.getList().get(1), tasks);
+
+        assertEquals(0, Files.size(tempDir.resolve("max.txt.log")));
+        storage.flush();
+        assertEquals(2, new Storage(filePath).load().size());
+    }
+
+    @Test
+    public void load_corruptedSnapshot_exceptionThrown(@TempDir Path tempDir) throws IOException, MaxException {
+        Path path = tempDir.resolve("max.txt");
+        TaskList tasks = new TaskList();
+        tasks.add(new Todo("read book"));
+        new Storage(path.toString()).writeToFile(tasks);
+        Files.writeString(path, Files.readString(path).replace("read", "lost"));
+
+        MaxException e = assertThrows(MaxException.class, () -> new Storage(path.toString()).load());
+        assertEquals("Hey! Your storage file is corrupted.", e.getMessage());
+    }
+
+    @Test
+    public void load_snapshotCutAfterTaskLine_exceptionThrown(@TempDir Path tempDir) throws IOException, MaxException {
+        Path path = tempDir.resolve("max.txt");
+        TaskList tasks = new TaskList();
+        tasks.add(new Todo("read book"));
+        tasks.add(new Todo("return book"));
+        new Storage(path.toString()).writeToFile(tasks);
+        String snapshot = Files.readString(path);
+        // Cut at a line boundary, just before the checksum line
+        Files.writeString(path, snapshot.substring(0, snapshot.indexOf("#CRC32")));
+
+        MaxException e = assertThrows(MaxException.class, () -> new Storage(path.toString()).load());
+        assertEquals("Hey! Your storage file is corrupted.", e.getMessage());
+    }
+
+    @Test
+    public void load_legacySnapshot_tasksLoaded(@TempDir Path tempDir) throws IOException, MaxException {
+        Path path = tempDir.resolve("max.txt");
+        Files.writeString(path, "T | 0 | read book\nT | 1 | return book\n");
+
+        List<Task> loaded = new Storage(path.toString()).load();
+        assertEquals("[T][X] return book", loaded.get(1).toString());
+    }
+
+    @Test
+    public void load_textSnapshot_tasksDecodedOnAccess(@TempDir Path tempDir) throws MaxException {
+        String filePath = tempDir.resolve("max.txt").toString();
+        TaskList tasks = new TaskList();
+        tasks.add(new Todo("read book"));
+        tasks.add(new Todo("return book"));
+        new Storage(filePath).writeToFile(tasks);
+
+        List<Task> loaded = new Storage(filePath).load();
+        assertEquals(0, ((LazyTaskList<?>) loaded).getDecodedCount());
+        assertEquals("[T][ ] return book", loaded.get(1).toString());
+        assertEquals(1, ((LazyTaskList<?>) loaded).getDecodedCount());
+    }
+
+    @Test
+    public void load_binarySnapshot_tasksDecodedOnAccess(@TempDir Path tempDir) throws MaxException {
+        String filePath = tempDir.resolve("max.bin").toString();
+        TaskList tasks = new TaskList();
+        tasks.add(new Todo("read book"));
+        tasks.add(new Todo("return book"));
+        tasks.add(new Todo("buy bread"));
+        new Storage(filePath).writeToFile(tasks);
+
+        List<Task> loaded = new Storage(filePath).load();
+        assertEquals(0, ((RecordTaskList) loaded).getDecodedCount());
+        loaded.remove(0);
+        assertEquals("[T][ ] buy bread", loaded.get(1).toString());
+        assertEquals(1, ((RecordTaskList) loaded).getDecodedCount());
+    }
+
+    @Test
+    public void load_snapshotOverSeveralChunks_sameTasksAsSequentialRead(@TempDir Path tempDir)
+            throws IOException, MaxException {
+        Path path = tempDir.resolve("max.txt");
+        StringBuilder snapshot = new StringBuilder();
+        for (int i = 0; snapshot.length() < 3 * 1024 * 1024; i++) {
+            snapshot.append("T | ").append(i % 2).append(" | task ").append(i).append(" ".repeat(i % 50)).append("x\n");
+        }
+        // The last line has no trailing newline
+        Files.writeString(path, snapshot.substring(0, snapshot.length() - 1));
+
+        Storage storage = new Storage(path.toString());
+        List<Task> expected = new ArrayList<>();
+        for (String line : Files.readAllLines(path)) {
+            storage.loadTask(line, expected);
+        }
+        List<Task> loaded = storage.load();
+        assertEquals(expected.size(), loaded.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).toString(), loaded.get(i).toString());
+        }
+    }
+
+    @Test
+    public void load_compressedSnapshot_sameTasksInOrder(@TempDir Path tempDir) throws IOException, MaxException {
+        String filePath = tempDir.resolve("max.txt.gz").toString();
+        TaskList tasks = new TaskList();
+        tasks.add(new Todo("read book"));
+        tasks.add(new Deadline("return book", LocalDate.parse("2024-01-01")));
+        new Storage(filePath).writeToFile(tasks);
+
+        // Every gzip stream starts with the bytes 1f 8b
+        assertEquals((byte) 0x1f, Files.readAllBytes(Path.of(filePath))[0]);
+        List<Task> loaded = new Storage(filePath).load();
+        assertEquals(2, loaded.size());
+        assertEquals("[D][ ] return book (by: 2024-01-01)", loaded.get(1).toString());
+    }
+
+    @Test
+    public void load_compressedSnapshotWithChangedLine_exceptionThrown(@TempDir Path tempDir) throws IOException {
+        Path path = tempDir.resolve("max.txt.gz");
+        // Well-formed gzip whose checksum line was computed over "T | 0 | read book\n"
+        try (GZIPOutputStream out = new GZIPOutputStream(Files.newOutputStream(path))) {
+            CRC32 crc = new CRC32();
+            crc.update("T | 0 | read book\n".getBytes(StandardCharsets.UTF_8));
+            out.write(String.format("T | 0 | lost book\n#CRC32 %08x\n", crc.getValue())
+                    .getBytes(StandardCharsets.UTF_8));
+        }
+
+        MaxException e = assertThrows(MaxException.class, () -> new Storage(path.toString()).load());
+        assertEquals("Hey! Your storage file is corrupted.", e.getMessage());
+    }
+
+    @Test
+    public void load_invalidDateInSnapshot_exceptionThrownOnLoad(@TempDir Path tempDir) throws IOException {
+        Path path = tempDir.resolve("max.txt");
+        Files.writeString(path, "T | 0 | read book\nD | 0 | return book by: 2023-02-30\n");
+
+        MaxException e = assertThrows(MaxException.class, () -> new Storage(path.toString()).load());
+        assertEquals("Hey! Your storage file is corrupted.", e.getMessage());
+    }
+}
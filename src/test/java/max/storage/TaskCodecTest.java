@@ -0,0 +1,44 @@
+package max.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+import max.exception.MaxException;
+import max.tasks.Deadline;
+import max.tasks.Event;
+import max.tasks.Todo;
+
+public class TaskCodecTest {
+    @Test
+    public void decode_descriptionContainingTags_datesReadFromEnd() throws MaxException {
+        TextTaskCodec codec = new TextTaskCodec();
+        assertEquals("[D][ ] go by: bus (by: 2023-09-30)",
+                codec.decode("D | 0 | go by: bus by: 2023-09-30").toString());
+        assertEquals("[E][X] talk from: home to: office (from: 2023-10-05 to: 2023-10-06)",
+                codec.decode("E | 1 | talk from: home to: office from: 2023-10-05 to: 2023-10-06").toString());
+    }
+
+    @Test
+    public void decode_binaryRecords_sameTasksInOrder() throws IOException, MaxException {
+        BinaryTaskCodec codec = new BinaryTaskCodec();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        codec.encode(new Todo("pack bag", true), out);
+        codec.encode(new Deadline("return book", LocalDate.parse("2023-09-30")), out);
+        codec.encode(new Event("recess week", LocalDate.parse("2023-09-23"), LocalDate.parse("2023-10-01")), out);
+
+        ByteBuffer in = ByteBuffer.wrap(bytes.toByteArray());
+        assertEquals("[T][X] pack bag", codec.decode(in).toString());
+        assertEquals("[D][ ] return book (by: 2023-09-30)", codec.decode(in).toString());
+        assertEquals("[E][ ] recess week (from: 2023-09-23 to: 2023-10-01)", codec.decode(in).toString());
+        assertFalse(in.hasRemaining());
+    }
+}
@@ -0,0 +1,81 @@
+package max.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import max.exception.MaxException;
+import max.tasks.Todo;
+
+public class TaskListRegistryTest {
+    @Test
+    public void use_moreListsThanCapacity_leastRecentlyUsedEvicted(@TempDir Path tempDir) throws MaxException {
+        TaskListRegistry lists = new TaskListRegistry(tempDir, ".txt", 2);
+        TaskListRegistry.Entry home = lists.use("home");
+        home.getTasks().add(new Todo("water plants"));
+        home.getStorage().recordAdd(home.getTasks().getList().get(0), home.getTasks());
+        lists.use("work");
+        lists.use("school");
+
+        assertEquals(false, lists.isOpen("home"));
+        assertEquals(List.of("home", "school", "work"), lists.getNames());
+        assertEquals(1, lists.use("home").getTasks().getList().size());
+        assertEquals(false, lists.isOpen("work"));
+    }
+
+    @Test
+    public void use_inSession_otherSessionsKeepTheirList(@TempDir Path tempDir) throws MaxException {
+        TaskListRegistry lists = new TaskListRegistry(tempDir, ".txt", 2);
+        lists.use("home");
+        TaskListRegistry session = lists.newSession();
+        assertEquals("home", session.getCurrent().getName());
+        session.use("work");
+        lists.use("school");
+        lists.use("gym");
+
+        assertEquals("gym", lists.getCurrent().getName());
+        assertEquals("work", session.getCurrent().getName());
+        assertEquals(true, lists.isOpen("work"));
+        session.closeSession();
+        lists.use("home");
+        assertEquals(false, lists.isOpen("work"));
+    }
+
+    @Test
+    public void use_invalidName_exceptionThrown(@TempDir Path tempDir) {
+        TaskListRegistry lists = new TaskListRegistry(tempDir, ".txt", 2);
+
+        MaxException e = assertThrows(MaxException.class, () -> lists.use("../secret"));
+        assertEquals("List names can only have letters, digits, '-' and '_'.", e.getMessage());
+    }
+
+    @Test
+    public void useEmpty_afterFailedLoad_storedFileKeptAside(@TempDir Path tempDir) throws IOException, MaxException {
+        Path path = tempDir.resolve("home.txt");
+        Files.writeString(path, "T | 0 | water plants\nX | 0 | broken\n");
+        TaskListRegistry lists = new TaskListRegistry(tempDir, ".txt", 2);
+        assertThrows(MaxException.class, () -> lists.use("home"));
+
+        TaskListRegistry.Entry home = lists.useEmpty("home");
+        home.getTasks().add(new Todo("feed cat"));
+        lists.saveAll();
+
+        List<Path> kept;
+        try (Stream<Path> files = Files.list(tempDir)) {
+            kept = files.filter(file -> file.getFileName().toString().startsWith("home.txt.corrupted-"))
+                    .collect(Collectors.toList());
+        }
+        assertEquals(1, kept.size());
+        assertEquals("T | 0 | water plants\nX | 0 | broken\n", Files.readString(kept.get(0)));
+        assertEquals("[T][ ] feed cat", new Storage(path.toString()).load().get(0).toString());
+    }
+}
@@ -0,0 +1,58 @@
+package max.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class ColumnarTaskListTest {
+    @Test
+    public void remove_fromFront_sameTasksAsArrayList() {
+        List<Task> expected = new ArrayList<>();
+        ColumnarTaskList list = new ColumnarTaskList();
+        for (int i = 0; i < 1000; i++) {
+            Task task = new Todo("task " + i, i % 3 == 0);
+            expected.add(task);
+            list.add(task);
+        }
+        for (int i = 0; i < 700; i++) {
+            assertEquals(expected.remove(0), list.remove(0));
+        }
+        list.remove(250);
+        expected.remove(250);
+        assertEquals(expected.size(), list.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getItem(), list.get(i).getItem());
+            assertEquals(expected.get(i).isDone(), list.isDone(i));
+        }
+        while (!list.isEmpty()) {
+            list.remove(0);
+        }
+        list.add(new Todo("again", false));
+        assertEquals("again", list.get(0).getItem());
+    }
+
+    @Test
+    public void add_inMiddleAfterRemovals_doneFlagsMoveWithTheirTasks() {
+        ColumnarTaskList list = new ColumnarTaskList();
+        for (int i = 0; i < 200; i++) {
+            list.add(new Todo("task " + i, i % 2 == 0));
+        }
+        list.remove(0);
+        list.add(100, new Todo("inserted", true));
+
+        assertEquals(200, list.size());
+        assertEquals("task 1", list.get(0).getItem());
+        assertFalse(list.isDone(0));
+        assertEquals("inserted", list.get(100).getItem());
+        assertTrue(list.isDone(100));
+        for (int i = 101; i < 200; i++) {
+            assertEquals("task " + i, list.get(i).getItem());
+            assertEquals(i % 2 == 0, list.isDone(i));
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package max.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import max.exception.MaxException;
+
+public class ConcurrentTaskListTest {
+    @Test
+    public void getList_lazyListReadAfterChange_onlyReadTasksDecoded() throws MaxException {
+        LazyTaskList<String> lazy = new LazyTaskList<>(List.of("pack bag", "buy bread", "return book"), Todo::new);
+        ConcurrentTaskList tasks = new ConcurrentTaskList(lazy);
+        tasks.add(new Todo("water plants"));
+        tasks.mark(4);
+
+        synchronized (tasks) {
+            assertEquals(4, tasks.getList().size());
+            assertEquals("[T][X] water plants", tasks.getList().get(3).toString());
+        }
+        assertEquals(1, lazy.getDecodedCount());
+    }
+
+    @Test
+    public void snapshot_lazyListChangedAfterwards_snapshotUnchangedAndNothingDecoded() throws MaxException {
+        LazyTaskList<String> lazy = new LazyTaskList<>(List.of("pack bag", "buy bread", "return book"), Todo::new);
+        ConcurrentTaskList tasks = new ConcurrentTaskList(lazy);
+        List<Task> snapshot = tasks.snapshot();
+        assertEquals(0, lazy.getDecodedCount());
+
+        tasks.delete(1);
+        tasks.add(new Todo("water plants"));
+        assertEquals(3, snapshot.size());
+        assertEquals("[T][ ] pack bag", snapshot.get(0).toString());
+        assertEquals("[T][ ] water plants", tasks.getList().get(2).toString());
+    }
+
+    @Test
+    public void add_whileOtherThreadReadsSnapshots_eachSnapshotConsistent() throws InterruptedException {
+        ConcurrentTaskList tasks = new ConcurrentTaskList();
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < 10000; i++) {
+                tasks.add(new Todo("task " + i));
+            }
+        });
+        writer.start();
+        while (writer.isAlive()) {
+            // Read without holding the list, while the writer carries on
+            List<Task> snapshot = tasks.snapshot();
+            for (int i = 0; i < snapshot.size(); i++) {
+                assertEquals("[T][ ] task " + i, snapshot.get(i).toString());
+            }
+        }
+        writer.join();
+        assertEquals(10000, tasks.size());
+    }
+}
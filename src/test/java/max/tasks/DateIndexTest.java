@@ -0,0 +1,63 @@
+package max.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class DateIndexTest {
+    @Test
+    public void getBetween_longEventAddedAndRemoved_sameTasksAsFullScan() {
+        LocalDate base = LocalDate.parse("2024-01-01");
+        Random random = new Random(42);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            LocalDate from = base.plusDays(random.nextInt(365));
+            tasks.add(new Event("event " + i, from, from.plusDays(random.nextInt(10))));
+        }
+        Event longEvent = new Event("conference season", base.minusDays(1000), base.plusDays(5));
+        tasks.add(longEvent);
+        DateIndex index = new DateIndex(tasks);
+
+        for (int i = 0; i < 50; i++) {
+            LocalDate from = base.plusDays(random.nextInt(365));
+            LocalDate to = from.plusDays(random.nextInt(5));
+            assertEquals(scan(tasks, from, to), sorted(index.getBetween(from, to)));
+        }
+        assertEquals(List.of(longEvent), index.getBetween(base.minusDays(500), base.minusDays(400)));
+
+        tasks.remove(longEvent);
+        index.remove(longEvent);
+        assertEquals(List.of(), index.getBetween(base.minusDays(500), base.minusDays(400)));
+        assertEquals(scan(tasks, base, base.plusDays(3)), sorted(index.getBetween(base, base.plusDays(3))));
+    }
+
+    /**
+     * Returns the events overlapping the given range, found by checking every task.
+     */
+    private static List<Task> scan(List<Task> tasks, LocalDate from, LocalDate to) {
+        List<Task> matches = new ArrayList<>();
+        for (Task task : tasks) {
+            Event event = (Event) task;
+            if (!event.getFromDate().isAfter(to) && !event.getToDate().isBefore(from)) {
+                matches.add(event);
+            }
+        }
+        return sorted(matches);
+    }
+
+    /**
+     * Sorts events by start date, then by description, since events starting on the same day
+     * may come in any order.
+     */
+    private static List<Task> sorted(List<Task> events) {
+        List<Task> copy = new ArrayList<>(events);
+        copy.sort(Comparator.comparing((Task task) -> ((Event) task).getFromDate()).thenComparing(Task::getItem));
+        return copy;
+    }
+}
@@ -0,0 +1,19 @@
+package max.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+public class DescriptionPoolTest {
+    @Test
+    public void intern_repeatedDescription_sameStringReturned() {
+        DescriptionPool pool = new DescriptionPool();
+        String first = pool.intern(new String("weekly report"));
+        String second = pool.intern(new String("weekly report"));
+        assertSame(first, second);
+        assertEquals(1, pool.size());
+        assertEquals(0.5, pool.getHitRate());
+        assertEquals(40 + "weekly report".length(), pool.getBytesSaved());
+    }
+}
@@ -2,6 +2,8 @@ package max.tasks;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.time.LocalDate;
+
 import org.junit.jupiter.api.Test;
 
 import max.exception.MaxException;
@@ -25,4 +27,43 @@ public class TaskListTest {
             assertEquals("Seems like that number is out of range. Check again!", e.getMessage());
         }
     }
+
+    @Test
+    public void find_wordAndPartialWord_matchesInListOrder() throws MaxException {
+        TaskList tasks = new TaskList();
+        tasks.add(new Todo("buy notebook"));
+        tasks.add(new Todo("read book"));
+        tasks.add(new Todo("cook dinner"));
+        assertEquals("[[T][ ] buy notebook, [T][ ] read book]", tasks.find("book").toString());
+
+        tasks.delete(1);
+        tasks.add(new Todo("return books"));
+        assertEquals("[[T][ ] read book, [T][ ] return books]", tasks.find("book").toString());
+    }
+
+    @Test
+    public void findBetween_overlappingEventAndDeadline_earliestFirst() {
+        TaskList tasks = new TaskList();
+        tasks.add(new Deadline("submit essay", LocalDate.parse("2023-09-30")));
+        tasks.add(new Event("recess week", LocalDate.parse("2023-09-23"), LocalDate.parse("2023-10-01")));
+        tasks.add(new Event("career fair", LocalDate.parse("2023-10-05"), LocalDate.parse("2023-10-06")));
+        assertEquals("[[E][ ] recess week (from: 2023-09-23 to: 2023-10-01), [D][ ] submit essay (by: 2023-09-30)]",
+                tasks.findBetween(LocalDate.parse("2023-09-25"), LocalDate.parse("2023-10-01")).toString());
+    }
+
+    @Test
+    public void markAndDelete_columnarList_changesKeptAndFound() throws MaxException {
+        TaskList tasks = new TaskList(new ColumnarTaskList());
+        tasks.add(new Todo("buy notebook"));
+        tasks.add(new Deadline("return book", LocalDate.parse("2023-09-30")));
+        tasks.add(new Event("book fair", LocalDate.parse("2023-10-05"), LocalDate.parse("2023-10-06")));
+        assertEquals(3, tasks.find("book").size());
+
+        tasks.mark(2);
+        tasks.delete(1);
+        assertEquals("[[D][X] return book (by: 2023-09-30), [E][ ] book fair (from: 2023-10-05 to: 2023-10-06)]",
+                tasks.getList().toString());
+        assertEquals("[[D][X] return book (by: 2023-09-30), [E][ ] book fair (from: 2023-10-05 to: 2023-10-06)]",
+                tasks.find("book").toString());
+    }
 }
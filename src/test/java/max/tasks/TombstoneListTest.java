@@ -0,0 +1,32 @@
+package max.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class TombstoneListTest {
+    @Test
+    public void remove_fromFront_positionsShiftAndTombstonesCompacted() {
+        TombstoneList<Integer> list = new TombstoneList<>();
+        for (int i = 0; i < 1000; i++) {
+            list.add(i);
+        }
+        for (int i = 0; i < 400; i++) {
+            assertEquals(i, list.remove(0));
+        }
+        list.remove(100);
+        assertEquals(599, list.size());
+        assertEquals(400, list.get(0));
+        assertEquals(501, list.get(100));
+        assertEquals(401, list.getTombstoneCount());
+
+        for (int i = 0; i < 300; i++) {
+            list.remove(0);
+        }
+        // Tombstones were swept out when they came to outnumber the live elements, 200 deletes ago
+        assertEquals(200, list.getTombstoneCount());
+        assertEquals(List.of(701, 702), list.subList(0, 2));
+    }
+}